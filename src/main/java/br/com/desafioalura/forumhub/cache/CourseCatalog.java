@@ -0,0 +1,88 @@
+package br.com.desafioalura.forumhub.cache;
+
+import br.com.desafioalura.forumhub.config.datasource.PrimaryReads;
+import br.com.desafioalura.forumhub.dto.CourseDTO;
+import br.com.desafioalura.forumhub.repository.CourseRepository;
+import br.com.desafioalura.forumhub.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catálogo de cursos em memória: um snapshot imutável da lista e do mapa id → nome, carregado uma vez
+ * e recarregado apenas depois que {@code CourseService} grava um curso. Fora isso, nenhuma leitura de
+ * curso vai ao banco.
+ */
+@Component
+public class CourseCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseCatalog.class);
+
+    private final CourseRepository courseRepository;
+    // Incrementada a cada gravação de curso; um snapshot de versão anterior é descartado na próxima leitura.
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public CourseCatalog(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+    }
+
+    public List<CourseDTO> courses() {
+        return snapshot().courses();
+    }
+
+    public Optional<String> findName(Long courseId) {
+        return courseId == null ? Optional.empty() : Optional.ofNullable(snapshot().namesById().get(courseId));
+    }
+
+    public boolean exists(Long courseId) {
+        return courseId != null && snapshot().namesById().containsKey(courseId);
+    }
+
+    /**
+     * Marca o catálogo como desatualizado após o commit da transação corrente.
+     */
+    public void invalidate() {
+        AfterCommit.run(version::incrementAndGet);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.version() == version.get()) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            long expected = version.get();
+            if (current != null && current.version() == expected) {
+                return current;
+            }
+            // Se uma gravação ocorrer durante a carga, a versão muda e a próxima leitura recarrega.
+            current = load(expected);
+            snapshot = current;
+            return current;
+        }
+    }
+
+    private Snapshot load(long version) {
+        Map<Long, String> namesById = new LinkedHashMap<>();
+        // Do primário: o snapshot vale para todos até a próxima gravação, e a réplica pode estar atrasada.
+        PrimaryReads.call(() -> courseRepository.findAll(Sort.by("id")))
+                .forEach(course -> namesById.put(course.getId(), course.getName()));
+        List<CourseDTO> courses = namesById.entrySet().stream()
+                .map(entry -> new CourseDTO(entry.getKey(), entry.getValue()))
+                .toList();
+        logger.info("Catálogo de cursos carregado (versão {}): {} cursos.", version, courses.size());
+        return new Snapshot(version, courses, Map.copyOf(namesById));
+    }
+
+    private record Snapshot(long version, List<CourseDTO> courses, Map<Long, String> namesById) {
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.desafioalura.forumhub.cache;
+
+import br.com.desafioalura.forumhub.util.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Cache, por usuário, dos IDs de posts que ele curtiu, guardados como um {@code long[]} ordenado
+ * (8 bytes por curtida, consulta por busca binária). As métricas ficam em {@code cache.gets{cache="likedPosts"}}.
+ *
+ * <p>{@code LikeService} chama {@link #invalidate(Long)} a cada curtida ou descurtida. A remoção acontece
+ * após o commit e aguarda uma carga em andamento para o mesmo usuário, de modo que um conjunto lido antes
+ * do commit não sobrevive a ela.</p>
+ */
+@Component
+public class LikedPostsCache {
+
+    public static final String CACHE_NAME = "likedPosts";
+    /**
+     * Marcador, comparado por identidade, de usuário com curtidas demais para o cache: as consultas
+     * dele vão direto ao banco, sem recarregar o conjunto a cada vez.
+     */
+    public static final long[] TOO_MANY = new long[0];
+
+    private final Cache<Long, long[]> cache;
+
+    public LikedPostsCache(MeterRegistry meterRegistry,
+                           @Value("${forum.cache.liked-posts.maximum-size:10000}") long maximumSize,
+                           @Value("${forum.cache.liked-posts.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Devolve os IDs curtidos pelo usuário, em ordem crescente, carregando-os com {@code loader} na falta,
+     * ou {@link #TOO_MANY}.
+     */
+    public long[] get(Long userId, Function<Long, long[]> loader) {
+        return cache.get(userId, loader);
+    }
+
+    public static boolean contains(long[] sortedIds, long postId) {
+        return Arrays.binarySearch(sortedIds, postId) >= 0;
+    }
+
+    /**
+     * Remove o conjunto do usuário assim que a transação corrente fizer commit (ou imediatamente, sem transação).
+     */
+    public void invalidate(Long userId) {
+        AfterCommit.run(() -> cache.invalidate(userId));
+    }
+}
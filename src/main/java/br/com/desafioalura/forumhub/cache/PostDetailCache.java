@@ -0,0 +1,102 @@
+package br.com.desafioalura.forumhub.cache;
+
+import br.com.desafioalura.forumhub.dto.PostDTO;
+import br.com.desafioalura.forumhub.util.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Cache em memória, limitado por tamanho e com TTL, do detalhe de post ({@code GET /forum/posts/{id}}).
+ * As métricas de acerto/erro ficam em {@code cache.gets{cache="postDetail"}}.
+ *
+ * <p>Toda escrita que altera o detalhe de um post (edição, inativação, comentários e curtidas) chama
+ * {@link #evict(Long)}, que remove a entrada após o commit. Uma leitura que começou antes de uma remoção
+ * do mesmo post não grava o resultado no cache, pois pode ter lido o estado anterior ao commit; remoções de
+ * outros posts não interferem.</p>
+ *
+ * <p>O valor guardado nunca sai do cache: cada chamada de {@link #get(Long, Function)}, inclusive as que
+ * aguardaram uma carga compartilhada, recebe uma cópia ({@link PostDTO#copy()}).</p>
+ *
+ * <p>Faltas concorrentes para o mesmo post compartilham uma única carga ({@link SingleFlight}), de modo que
+ * um post muito acessado que acabou de expirar gera uma consulta ao banco, e não uma por requisição.</p>
+ */
+@Component
+public class PostDetailCache {
+
+    public static final String CACHE_NAME = "postDetail";
+
+    private final Cache<Long, PostDTO> cache;
+    private final SingleFlight<Long, PostDTO> loads;
+    // Marca de cada carga em andamento, por post. A remoção descarta a marca; a carga só grava no cache se a
+    // sua marca ainda estiver lá. Gravação e remoção acontecem dentro do compute da mesma chave, então não se
+    // intercalam.
+    private final ConcurrentMap<Long, Object> pendingLoads = new ConcurrentHashMap<>();
+
+    public PostDetailCache(MeterRegistry meterRegistry,
+                           @Value("${forum.cache.post-detail.maximum-size:1000}") long maximumSize,
+                           @Value("${forum.cache.post-detail.ttl:10m}") Duration ttl,
+                           @Value("${forum.cache.post-detail.load-timeout:5s}") Duration loadTimeout) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.loads = new SingleFlight<>(CACHE_NAME, loadTimeout, meterRegistry);
+    }
+
+    /**
+     * Devolve o post do cache ou o carrega com {@code loader}, guardando o resultado.
+     * Exceções do {@code loader} (por exemplo, post não encontrado) são propagadas a todos que aguardavam
+     * a carga e nada é guardado.
+     */
+    public PostDTO get(Long id, Function<Long, PostDTO> loader) {
+        PostDTO cached = cache.getIfPresent(id);
+        if (cached == null) {
+            cached = loads.execute(id, () -> load(id, loader));
+        }
+        return cached.copy();
+    }
+
+    private PostDTO load(Long id, Function<Long, PostDTO> loader) {
+        Object marker = new Object();
+        pendingLoads.put(id, marker);
+        PostDTO loaded;
+        try {
+            loaded = loader.apply(id);
+        } catch (RuntimeException e) {
+            pendingLoads.remove(id, marker);
+            throw e;
+        }
+        pendingLoads.computeIfPresent(id, (key, current) -> {
+            if (current != marker) {
+                return current; // uma carga mais nova, iniciada após uma remoção, está em andamento
+            }
+            cache.put(id, loaded);
+            return null;
+        });
+        return loaded;
+    }
+
+    /**
+     * Remove o post do cache assim que a transação corrente fizer commit (ou imediatamente, sem transação).
+     */
+    public void evict(Long id) {
+        AfterCommit.run(() -> {
+            loads.forget(id);
+            pendingLoads.compute(id, (key, marker) -> {
+                cache.invalidate(id);
+                return null;
+            });
+        });
+    }
+}
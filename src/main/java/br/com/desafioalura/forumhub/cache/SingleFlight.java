@@ -0,0 +1,83 @@
+package br.com.desafioalura.forumhub.cache;
+
+import br.com.desafioalura.forumhub.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa cargas concorrentes da mesma chave: a primeira chamada executa o {@code loader} e as que
+ * chegam enquanto ela está em andamento aguardam o mesmo resultado, em vez de repetirem as consultas.
+ *
+ * <p>Uma falha da carga é propagada para todos que a aguardavam. Quem espera mais que o {@code timeout}
+ * recebe {@link ServiceOverloadedException}. As chamadas agrupadas são contadas em
+ * {@code forum.singleflight.coalesced{name=...}}.</p>
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, Duration timeout, MeterRegistry meterRegistry) {
+        this.timeout = timeout;
+        this.coalesced = Counter.builder("forum.singleflight.coalesced")
+                .description("Chamadas que aguardaram uma carga já em andamento para a mesma chave")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            coalesced.increment();
+            return await(key, running);
+        }
+
+        try {
+            V value = loader.get();
+            own.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    /**
+     * Faz com que as próximas chamadas para a chave iniciem uma carga nova, sem aguardar a que está
+     * em andamento (que pode ter lido dados anteriores a uma escrita).
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    private V await(K key, CompletableFuture<V> running) {
+        try {
+            return running.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ServiceOverloadedException("Tempo esgotado aguardando a carga de " + key + ". Tente novamente.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Carga de " + key + " interrompida.");
+        }
+    }
+}
@@ -4,25 +4,27 @@ import br.com.desafioalura.forumhub.dto.CommentDTO;
 import br.com.desafioalura.forumhub.dto.PostDTO;
 import br.com.desafioalura.forumhub.model.Comment;
 import br.com.desafioalura.forumhub.model.Post;
+import br.com.desafioalura.forumhub.monitoring.TimedModelMapper;
 
 import org.modelmapper.Conditions;
 import org.modelmapper.Converter;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeMap;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @Configuration
 public class ModelMapperConfig {
 
     @Bean
-    public ModelMapper modelMapper() {
-        ModelMapper mapper = new ModelMapper();
+    public ModelMapper modelMapper(@Value("${forum.server-timing.enabled:false}") boolean serverTimingEnabled) {
+        // Com o Server-Timing ligado, o tempo de mapeamento entra na fase "map" da requisição.
+        ModelMapper mapper = serverTimingEnabled ? new TimedModelMapper() : new ModelMapper();
         mapper.getConfiguration()
                 .setPropertyCondition(Conditions.isNotNull()) // para evitar sobrescritas de null
                 .setFieldMatchingEnabled(true)
@@ -30,19 +32,15 @@ public class ModelMapperConfig {
 
         TypeMap<Post, PostDTO> typeMap = mapper.createTypeMap(Post.class, PostDTO.class);
 
-        Converter<Set<?>, Integer> likesCountConverter = ctx -> {
-            Set<?> likes = ctx.getSource();
-            return (likes != null) ? likes.size() : 0;
-        };
-
-
         typeMap.addMappings(map -> {
             map.map(src -> src.getUser().getEmail(), PostDTO::setUserEmail);
             map.map(src -> src.getCourse().getId(), PostDTO::setCourseId);
-            map.map(src -> src.getCourse().getName(), PostDTO::setCourseName);
-            map.map(src ->
-                            src.getLikes() != null ? src.getLikes().size() : 0,
-                    PostDTO::setLikesCount);
+            // O nome vem do CourseCatalog; ler course.name aqui inicializaria o proxy do curso.
+            map.skip(PostDTO::setCourseName);
+            // Depende do usuário da requisição; preenchido só nas listagens com includeLiked.
+            map.skip(PostDTO::setLikedByMe);
+            map.map(Post::getLikeCount, PostDTO::setLikesCount);
+            map.map(Post::getCommentCount, PostDTO::setCommentsCount);
         });
 
         Converter<List<Comment>, List<CommentDTO>> commentConverter = ctx -> {
@@ -55,10 +53,7 @@ public class ModelMapperConfig {
             )).collect(Collectors.toList());
         };
 
-        typeMap.addMappings(map -> {
-            map.using(likesCountConverter).map(Post::getLikes, PostDTO::setLikesCount);
-            map.using(commentConverter).map(Post::getComments, PostDTO::setComments);
-        });
+        typeMap.addMappings(map -> map.using(commentConverter).map(Post::getComments, PostDTO::setComments));
 
         return mapper;
     }
@@ -0,0 +1,71 @@
+package br.com.desafioalura.forumhub.config;
+
+import br.com.desafioalura.forumhub.model.Course;
+import br.com.desafioalura.forumhub.model.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Cache de segundo nível do Hibernate para {@link User} e {@link Course}, lidos em quase todo caminho de
+ * escrita e raramente alterados. As regiões são criadas aqui, com tamanho e expiração de
+ * {@code forum.cache.hibernate.<região>.*}; uma entidade anotada com {@code @Cache} sem região configurada
+ * impede a subida da aplicação.
+ *
+ * <p>O Hibernate acessa as regiões pela integração JCache ({@code hibernate-jcache}); o provedor por trás
+ * é o do Caffeine ({@code caffeine-jcache}), já usado nos demais caches da aplicação.</p>
+ *
+ * <p>Acertos e faltas por região são publicados pelo Micrometer em
+ * {@code hibernate.second.level.cache.requests{region,result}}.</p>
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public CacheManager hibernateCacheManager(
+            @Value("${forum.cache.hibernate.users.maximum-size:10000}") long usersMaximumSize,
+            @Value("${forum.cache.hibernate.users.ttl:10m}") Duration usersTtl,
+            @Value("${forum.cache.hibernate.courses.maximum-size:1000}") long coursesMaximumSize,
+            @Value("${forum.cache.hibernate.courses.ttl:1h}") Duration coursesTtl) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        createRegion(cacheManager, User.CACHE_REGION, usersMaximumSize, usersTtl);
+        createRegion(cacheManager, Course.CACHE_REGION, coursesMaximumSize, coursesTtl);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String region, long maximumSize, Duration ttl) {
+        if (cacheManager.getCache(region) != null) {
+            return;
+        }
+        // As entradas do Hibernate são o estado desmontado da entidade, imutável: guardar por referência
+        // evita serializar a cada leitura.
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.desafioalura.forumhub.config.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Marca a thread corrente para ler do primário mesmo em transações {@code readOnly}. Usado nas cargas de caches
+ * compartilhados: o read-your-writes protege só quem escreveu, e um snapshot atrasado da réplica ficaria em
+ * cache para todos os usuários.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static boolean active() {
+        return ACTIVE.get() != null;
+    }
+
+    public static <T> T call(Supplier<T> action) {
+        if (active()) {
+            return action.get();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+}
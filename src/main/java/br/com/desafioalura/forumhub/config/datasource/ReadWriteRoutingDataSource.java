@@ -0,0 +1,116 @@
+package br.com.desafioalura.forumhub.config.datasource;
+
+import br.com.desafioalura.forumhub.config.security.AuthenticatedUser;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Escolhe o pool de cada conexão pela {@link Workload} em vigor ({@link WorkloadPool}) e, sem ela, pelo tipo
+ * da transação: {@code readOnly} vai a {@link Workload#READ} e o resto (escritas e acessos sem transação) a
+ * {@link Workload#WRITE}. Havendo réplica, as leituras {@link Workload#READ} vão a ela; auth e consultas
+ * pesadas ficam nos seus pools do primário, para não disputar conexões com as leituras interativas.
+ *
+ * <p>A decisão usa o estado da transação no momento em que a conexão física é obtida, por isso a instância
+ * deve ser usada através de {@link #lazy(Map, DataSource, ReadYourWritesTracker)}: o
+ * {@link LazyConnectionDataSourceProxy} adia a conexão até o primeiro comando, quando o gerenciador de
+ * transações já marcou a transação como somente leitura.</p>
+ *
+ * <p>Um usuário que confirmou uma escrita continua lendo do primário pela janela do
+ * {@link ReadYourWritesTracker}, assim como as cargas de caches compartilhados ({@link PrimaryReads}).</p>
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String REPLICA = "replica";
+
+    private final boolean hasReplica;
+    private final ReadYourWritesTracker readYourWrites;
+
+    /**
+     * @param pools   Pool do primário para cada {@link Workload}; todas devem estar presentes.
+     * @param replica Pool da réplica, ou {@code null} para ler só do primário.
+     */
+    public ReadWriteRoutingDataSource(Map<Workload, ? extends DataSource> pools, DataSource replica,
+                                      ReadYourWritesTracker readYourWrites) {
+        this.hasReplica = replica != null;
+        this.readYourWrites = readYourWrites;
+        Map<Object, Object> targets = new HashMap<>();
+        for (Workload workload : Workload.values()) {
+            DataSource pool = pools.get(workload);
+            if (pool == null) {
+                throw new IllegalArgumentException("Pool de conexões não configurado para a carga " + workload);
+            }
+            targets.put(workload, pool);
+        }
+        if (hasReplica) {
+            targets.put(REPLICA, replica);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(pools.get(Workload.WRITE));
+        afterPropertiesSet();
+    }
+
+    /**
+     * Primário com um único pool para todas as cargas.
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker readYourWrites) {
+        this(samePool(primary), replica, readYourWrites);
+    }
+
+    public static DataSource lazy(Map<Workload, ? extends DataSource> pools, DataSource replica, ReadYourWritesTracker readYourWrites) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(pools, replica, readYourWrites));
+    }
+
+    public static DataSource lazy(DataSource primary, DataSource replica, ReadYourWritesTracker readYourWrites) {
+        return lazy(samePool(primary), replica, readYourWrites);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Workload workload = WorkloadContext.current();
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return workload != null ? workload : Workload.WRITE;
+        }
+
+        Long userId = currentUserId();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Workload read = workload != null ? workload : Workload.READ;
+            return read == Workload.READ && hasReplica && !PrimaryReads.active() && !readYourWrites.recentlyWrote(userId)
+                    ? REPLICA
+                    : read;
+        }
+
+        if (userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWrites.recordWrite(userId);
+                }
+            });
+        }
+        return workload != null ? workload : Workload.WRITE;
+    }
+
+    private static Map<Workload, DataSource> samePool(DataSource primary) {
+        Map<Workload, DataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            pools.put(workload, primary);
+        }
+        return pools;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                ? user.id()
+                : null;
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.desafioalura.forumhub.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Lembra, por uma janela configurável, os usuários que acabaram de confirmar uma escrita. Durante essa
+ * janela as leituras deles vão ao primário, para que vejam a própria escrita mesmo com a réplica atrasada.
+ */
+public class ReadYourWritesTracker {
+
+    private static final long MAXIMUM_TRACKED_USERS = 100_000;
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.recentWriters = window.isZero() || window.isNegative()
+                ? null
+                : Caffeine.newBuilder()
+                        .maximumSize(MAXIMUM_TRACKED_USERS)
+                        .expireAfterWrite(window)
+                        .build();
+    }
+
+    public void recordWrite(Long userId) {
+        if (recentWriters != null && userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean recentlyWrote(Long userId) {
+        return recentWriters != null && userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+}
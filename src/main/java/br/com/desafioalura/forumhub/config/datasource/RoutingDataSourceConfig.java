@@ -0,0 +1,141 @@
+package br.com.desafioalura.forumhub.config.datasource;
+
+import br.com.desafioalura.forumhub.monitoring.SlowQueryRegistry;
+import br.com.desafioalura.forumhub.monitoring.SqlProfilingListener;
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * O {@code DataSource} da aplicação é um {@link ReadWriteRoutingDataSource} sobre um pool Hikari por
+ * {@link Workload}, todos no primário ({@code spring.datasource.*}) e dimensionados em
+ * {@code forum.datasource.pools.<carga>.*}. Com {@code forum.datasource.replica.url} definida, um pool a mais
+ * na réplica ({@code forum.datasource.replica.*}) atende as leituras interativas.
+ *
+ * <p>Cada pool é um bean próprio, e o actuator publica as métricas {@code hikaricp.connections.*} com a tag
+ * {@code pool} de cada um; a ocupação fica em {@code forum.datasource.pool.saturation}.</p>
+ *
+ * <p>Com {@code forum.sql-profiler.enabled} ou {@code forum.server-timing.enabled}, o roteamento é envolvido por
+ * um proxy JDBC que mede cada comando (no {@link SlowQueryRegistry} e na fase {@code db} do Server-Timing).</p>
+ */
+@Configuration
+public class RoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("forum.datasource.pools.auth")
+    public HikariDataSource authDataSource(DataSourceProperties properties) {
+        return pool(properties, Workload.AUTH, 5);
+    }
+
+    @Bean
+    @ConfigurationProperties("forum.datasource.pools.write")
+    public HikariDataSource writeDataSource(DataSourceProperties properties) {
+        return pool(properties, Workload.WRITE, 10);
+    }
+
+    @Bean
+    @ConfigurationProperties("forum.datasource.pools.read")
+    public HikariDataSource readDataSource(DataSourceProperties properties) {
+        return pool(properties, Workload.READ, 10);
+    }
+
+    @Bean
+    @ConfigurationProperties("forum.datasource.pools.heavy")
+    public HikariDataSource heavyDataSource(DataSourceProperties properties) {
+        return pool(properties, Workload.HEAVY, 3);
+    }
+
+    /**
+     * Pool da réplica. As propriedades de conexão são lidas direto do {@code Environment}, sem registrar um
+     * segundo bean {@link DataSourceProperties}, que deixaria ambíguos os parâmetros dos pools do primário.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "forum.datasource.replica", name = "url")
+    @ConfigurationProperties("forum.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(Environment environment) {
+        DataSourceProperties properties = Binder.get(environment)
+                .bindOrCreate("forum.datasource.replica", DataSourceProperties.class);
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("authDataSource") HikariDataSource auth,
+                                 @Qualifier("writeDataSource") HikariDataSource write,
+                                 @Qualifier("readDataSource") HikariDataSource read,
+                                 @Qualifier("heavyDataSource") HikariDataSource heavy,
+                                 @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replica,
+                                 @Value("${forum.datasource.replica.read-your-writes-window:2s}") Duration readYourWritesWindow,
+                                 @Value("${forum.sql-profiler.enabled:true}") boolean sqlProfilerEnabled,
+                                 @Value("${forum.server-timing.enabled:false}") boolean serverTimingEnabled,
+                                 SlowQueryRegistry slowQueryRegistry) {
+        DataSource routing = ReadWriteRoutingDataSource.lazy(pools(auth, write, read, heavy), replica.getIfAvailable(),
+                new ReadYourWritesTracker(readYourWritesWindow));
+        if (!sqlProfilerEnabled && !serverTimingEnabled) {
+            return routing;
+        }
+        return ProxyDataSourceBuilder.create(routing)
+                .name("forum")
+                .listener(new SqlProfilingListener(slowQueryRegistry, sqlProfilerEnabled))
+                .build();
+    }
+
+    @Bean
+    public WorkloadPoolMetrics workloadPoolMetrics(@Qualifier("authDataSource") HikariDataSource auth,
+                                                   @Qualifier("writeDataSource") HikariDataSource write,
+                                                   @Qualifier("readDataSource") HikariDataSource read,
+                                                   @Qualifier("heavyDataSource") HikariDataSource heavy) {
+        return new WorkloadPoolMetrics(pools(auth, write, read, heavy));
+    }
+
+    /**
+     * Com open-in-view, o Hibernate manteria a conexão da primeira transação da requisição até o fim dela
+     * (inclusive nas transações seguintes, que poderiam ter outro destino). Liberá-la ao fim de cada
+     * transação faz cada uma ser roteada por conta própria.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Pool do primário para a carga; o tamanho informado vale se {@code maximum-pool-size} não for configurado.
+     */
+    private static HikariDataSource pool(DataSourceProperties properties, Workload workload, int maximumPoolSize) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(workload.poolName());
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        return dataSource;
+    }
+
+    private static <T extends DataSource> Map<Workload, T> pools(T auth, T write, T read, T heavy) {
+        Map<Workload, T> pools = new EnumMap<>(Workload.class);
+        pools.put(Workload.AUTH, auth);
+        pools.put(Workload.WRITE, write);
+        pools.put(Workload.READ, read);
+        pools.put(Workload.HEAVY, heavy);
+        return pools;
+    }
+}
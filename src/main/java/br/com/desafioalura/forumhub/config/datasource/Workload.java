@@ -0,0 +1,21 @@
+package br.com.desafioalura.forumhub.config.datasource;
+
+/**
+ * Classes de carga com pool de conexões próprio: uma consulta pesada esgota só o pool {@link #HEAVY}, sem
+ * tirar conexões do login ({@link #AUTH}) nem das escritas e leituras interativas.
+ */
+public enum Workload {
+
+    /** Login, registro, refresh e carga de identidades pelo filtro JWT. */
+    AUTH,
+    /** Escritas interativas: posts, comentários e curtidas. */
+    WRITE,
+    /** Leituras interativas e paginadas. */
+    READ,
+    /** Varreduras completas, exportações e buscas com {@code LIKE '%...%'}. */
+    HEAVY;
+
+    public String poolName() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.desafioalura.forumhub.config.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Carga da thread corrente, lida pelo {@link ReadWriteRoutingDataSource} quando a conexão física é obtida.
+ * Em chamadas aninhadas vale a carga mais externa: um método pesado continua no pool pesado mesmo ao chamar
+ * serviços de leitura comum.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    /**
+     * Carga em vigor, ou {@code null} se nenhum método anotado estiver em execução.
+     */
+    public static Workload current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Executa o trecho na carga informada, a menos que já haja uma em vigor.
+     */
+    public static <T> T call(Workload workload, Supplier<T> action) {
+        if (!enter(workload)) {
+            return action.get();
+        }
+        try {
+            return action.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Define a carga se nenhuma estiver em vigor; só quem recebeu {@code true} deve chamar {@link #exit()}.
+     */
+    static boolean enter(Workload workload) {
+        if (CURRENT.get() != null) {
+            return false;
+        }
+        CURRENT.set(workload);
+        return true;
+    }
+
+    static void exit() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.desafioalura.forumhub.config.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indica o pool de conexões usado pelo método (ou por todos os métodos da classe). A anotação no método
+ * prevalece sobre a da classe. Sem anotação, transações {@code readOnly} usam {@link Workload#READ} e as
+ * demais {@link Workload#WRITE}.
+ *
+ * @see WorkloadPoolAspect
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface WorkloadPool {
+
+    Workload value();
+}
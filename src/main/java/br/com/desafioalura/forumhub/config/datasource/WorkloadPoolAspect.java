@@ -0,0 +1,46 @@
+package br.com.desafioalura.forumhub.config.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Aplica {@link WorkloadPool} definindo o {@link WorkloadContext} durante a chamada. Roda antes do
+ * interceptor de {@code @Transactional}, para que a carga já esteja definida quando a transação obtiver a
+ * conexão.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WorkloadPoolAspect {
+
+    @Around("@within(br.com.desafioalura.forumhub.config.datasource.WorkloadPool)"
+            + " || @annotation(br.com.desafioalura.forumhub.config.datasource.WorkloadPool)")
+    public Object routeToPool(ProceedingJoinPoint joinPoint) throws Throwable {
+        Workload workload = resolve(joinPoint);
+        if (workload == null || !WorkloadContext.enter(workload)) {
+            return joinPoint.proceed();
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadContext.exit();
+        }
+    }
+
+    private static Workload resolve(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        WorkloadPool annotation = AnnotatedElementUtils.findMergedAnnotation(method, WorkloadPool.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(joinPoint.getTarget().getClass(), WorkloadPool.class);
+        }
+        return annotation != null ? annotation.value() : null;
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.desafioalura.forumhub.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Map;
+
+/**
+ * Publica {@code forum.datasource.pool.saturation{pool}}: a fração das conexões de cada pool em uso (de 0 a 1).
+ * Em 1, novas requisições daquela carga esperam na fila do Hikari ({@code hikaricp.connections.pending}).
+ */
+public class WorkloadPoolMetrics implements MeterBinder {
+
+    private final Map<Workload, HikariDataSource> pools;
+
+    public WorkloadPoolMetrics(Map<Workload, HikariDataSource> pools) {
+        this.pools = pools;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        pools.forEach((workload, pool) -> Gauge.builder("forum.datasource.pool.saturation", pool, WorkloadPoolMetrics::saturation)
+                .description("Fração das conexões do pool em uso")
+                .tag("pool", workload.poolName())
+                .register(registry));
+    }
+
+    static double saturation(HikariDataSource pool) {
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        if (mxBean == null || pool.getMaximumPoolSize() <= 0) {
+            return 0;
+        }
+        return (double) mxBean.getActiveConnections() / pool.getMaximumPoolSize();
+    }
+}
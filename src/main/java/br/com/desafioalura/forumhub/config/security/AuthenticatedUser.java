@@ -0,0 +1,17 @@
+package br.com.desafioalura.forumhub.config.security;
+
+import br.com.desafioalura.forumhub.model.User;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal das requisições autenticadas, montado sem consulta ao banco: ID e e-mail vêm das claims do JWT
+ * ({@code uid} e {@code sub}) e a role vem da identidade em cache, a mesma que fornece as authorities.
+ * Controllers o recebem com {@code @AuthenticationPrincipal}.
+ */
+public record AuthenticatedUser(Long id, String email, User.Role role) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
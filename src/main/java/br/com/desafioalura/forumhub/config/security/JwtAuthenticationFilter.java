@@ -1,14 +1,17 @@
 package br.com.desafioalura.forumhub.config.security;
 
+import br.com.desafioalura.forumhub.model.User;
+import br.com.desafioalura.forumhub.monitoring.RequestTimings;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
@@ -16,18 +19,22 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    private static final String ROLE_PREFIX = "ROLE_";
+
     private final JwtTokenUtil jwtTokenUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
 
-    public JwtAuthenticationFilter(JwtTokenUtil jwtTokenUtil,
-                                   UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenUtil jwtTokenUtil, UserDetailsService userDetailsService,
+                                   TokenRevocationList revocationList) {
         this.jwtTokenUtil = jwtTokenUtil;
         this.userDetailsService = userDetailsService;
+        this.revocationList = revocationList;
     }
 
     @Override
@@ -45,28 +52,49 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = authHeader.substring(7);
 
+        RequestTimings.begin(RequestTimings.Phase.JWT);
         try {
-            String username = jwtTokenUtil.getEmailFromToken(token);
-            String role = jwtTokenUtil.getRoleFromToken(token);
-
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                if (jwtTokenUtil.validateToken(token, userDetails)) {
-                    List<SimpleGrantedAuthority> authorities =
-                            List.of(new SimpleGrantedAuthority("ROLE_" + role));
+            // Uma única verificação por requisição (e nenhuma se o token já estiver no cache de verificados).
+            // ID e e-mail vêm das claims; status, authorities e a role do principal vêm todos do cache de
+            // identidades do JwtUserDetailsService, para que desativação e troca de role valham sem esperar o
+            // token expirar e as checagens por role dos serviços concordem com as authorities.
+            VerifiedToken verified = jwtTokenUtil.verify(token);
+
+            if (verified.userId() == null || !verified.isAccessToken()) {
+                log.debug("JWT sem a claim uid ou que não é de acesso rejeitado; é necessário autenticar novamente.");
+            } else if (revocationList.isRevoked(verified.tokenId())) {
+                log.debug("JWT revogado rejeitado: {}", verified.tokenId());
+            } else if (verified.subject() != null
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(verified.subject());
+
+                if (!userDetails.isEnabled()) {
+                    log.debug("JWT de usuário desativado rejeitado: {}", verified.subject());
+                } else {
+                    AuthenticatedUser principal = new AuthenticatedUser(
+                            verified.userId(), verified.subject(), roleOf(userDetails));
 
                     UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
+                            new UsernamePasswordAuthenticationToken(principal, null, userDetails.getAuthorities());
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
             }
 
         } catch (Exception e) {
-            System.out.println("Erro ao validar JWT: " + e.getMessage());
+            log.debug("Erro ao validar JWT: {}", e.getMessage());
+        } finally {
+            RequestTimings.end(RequestTimings.Phase.JWT);
         }
         filterChain.doFilter(request, response);
     }
-}
 
+    private static User.Role roleOf(UserDetails userDetails) {
+        return userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith(ROLE_PREFIX))
+                .map(authority -> User.Role.valueOf(authority.substring(ROLE_PREFIX.length())))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Usuário sem role: " + userDetails.getUsername()));
+    }
+}
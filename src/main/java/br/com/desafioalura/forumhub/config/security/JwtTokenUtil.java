@@ -2,63 +2,172 @@ package br.com.desafioalura.forumhub.config.security;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.auth0.jwt.interfaces.JWTVerifier;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.util.Date;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Emissão e verificação de JWT (HMAC512). O {@link JWTVerifier} é criado uma única vez e os tokens já
+ * verificados ficam em um cache limitado, indexado pelo SHA-256 do token e expirado junto com ele:
+ * requisições repetidas do mesmo cliente não refazem a verificação da assinatura.
+ *
+ * <p>São emitidos dois tipos de token, distinguidos pela claim {@code typ}: o de acesso, de vida curta, e o
+ * de refresh, trocado em {@code /auth/refresh} por um novo par sem verificar a senha. Ambos levam um
+ * {@code jti} para poderem ser revogados ({@link TokenRevocationList}).</p>
+ *
+ * <p>A latência de {@link #verify(String)} é publicada em {@code forum.jwt.verification}, com
+ * {@code result=cached|verified|rejected}.</p>
+ */
 @Component
 public class JwtTokenUtil {
-    private final long expiration = 1000 * 60 * 60 * 24; // 24 horas
-    @Value("${jwt.secret}")
-    private String secret;
-    private Algorithm algorithm;
+    public static final String VERIFIED_CACHE_NAME = "jwtVerified";
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    static final String TYPE_CLAIM = "typ";
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
 
-    private Algorithm getAlgorithm() {
-        if (this.algorithm == null) {
-            this.algorithm = Algorithm.HMAC512(secret);
-        }
-        return this.algorithm;
-    }
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
 
-    public String generateToken(UserDetails userDetails, String role) {
-        return JWT.create()
-                .withSubject(userDetails.getUsername())
-                .withClaim("role", role)
-                .withIssuedAt(new Date())
-                .withExpiresAt(new Date(System.currentTimeMillis() + expiration))
-                .sign(getAlgorithm());
-    }
+    public JwtTokenUtil(@Value("${jwt.secret}") String secret,
+                        @Value("${jwt.verified-cache.maximum-size:10000}") long verifiedCacheSize,
+                        @Value("${jwt.access-token.ttl:15m}") Duration accessTokenTtl,
+                        @Value("${jwt.refresh-token.ttl:7d}") Duration refreshTokenTtl,
+                        MeterRegistry meterRegistry) {
+        this.accessTokenTtl = accessTokenTtl;
+        this.refreshTokenTtl = refreshTokenTtl;
+        this.algorithm = Algorithm.HMAC512(secret);
+        this.verifier = JWT.require(algorithm).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+                    }
 
-    public String getUsernameFromToken(String token) {
-        return decodeToken(token).getSubject();
-    }
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
 
-    public String getEmailFromToken(String token) {
-        return decodeToken(token).getSubject();
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, VERIFIED_CACHE_NAME);
+        this.cachedTimer = verificationTimer("cached", meterRegistry);
+        this.verifiedTimer = verificationTimer("verified", meterRegistry);
+        this.rejectedTimer = verificationTimer("rejected", meterRegistry);
     }
 
-    public String getRoleFromToken(String token) {
-        return decodeToken(token).getClaim("role").asString();
+    /**
+     * Token de acesso, enviado em {@code Authorization: Bearer} a cada requisição.
+     */
+    public String generateToken(Long userId, String email, String role) {
+        return createToken(userId, email, role, ACCESS_TOKEN, accessTokenTtl);
     }
 
-    public boolean isTokenExpired(String token) {
-        Date expirationDate = decodeToken(token).getExpiresAt();
-        return expirationDate.before(new Date());
+    /**
+     * Token de refresh, aceito apenas em {@code /auth/refresh} e {@code /auth/logout}.
+     */
+    public String generateRefreshToken(Long userId, String email, String role) {
+        return createToken(userId, email, role, REFRESH_TOKEN, refreshTokenTtl);
     }
 
-    public boolean validateToken(String token, UserDetails userDetails) {
-        String username = getUsernameFromToken(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+    private String createToken(Long userId, String email, String role, String type, Duration ttl) {
+        Instant now = Instant.now();
+        return JWT.create()
+                .withJWTId(UUID.randomUUID().toString())
+                .withSubject(email)
+                .withClaim(USER_ID_CLAIM, userId)
+                .withClaim(ROLE_CLAIM, role)
+                .withClaim(TYPE_CLAIM, type)
+                .withIssuedAt(now)
+                .withExpiresAt(now.plus(ttl))
+                .sign(algorithm);
     }
 
-    private DecodedJWT decodeToken(String token) {
-        JWTVerifier verifier = JWT.require(algorithm).build();
-        return verifier.verify(token);
+    /**
+     * Verifica assinatura e expiração do token uma única vez e devolve suas claims.
+     *
+     * @throws JWTVerificationException Se o token for inválido ou estiver expirado.
+     */
+    public VerifiedToken verify(String token) {
+        long start = System.nanoTime();
+        Timer timer = rejectedTimer;
+        try {
+            String key = hash(token);
+            VerifiedToken cached = verifiedTokens.getIfPresent(key);
+            if (cached != null) {
+                // O cache expira pela data do token, mas a checagem explícita cobre a granularidade do timer.
+                if (cached.isExpired(Instant.now())) {
+                    verifiedTokens.invalidate(key);
+                    throw new TokenExpiredException("O token expirou.", cached.expiresAt());
+                }
+                timer = cachedTimer;
+                return cached;
+            }
+
+            DecodedJWT decoded = verifier.verify(token);
+            VerifiedToken verified = new VerifiedToken(
+                    decoded.getId(),
+                    decoded.getClaim(TYPE_CLAIM).asString(),
+                    decoded.getSubject(),
+                    decoded.getClaim(USER_ID_CLAIM).asLong(),
+                    decoded.getClaim(ROLE_CLAIM).asString(),
+                    decoded.getExpiresAtAsInstant());
+            if (verified.expiresAt() != null) {
+                verifiedTokens.put(key, verified);
+            }
+            timer = verifiedTimer;
+            return verified;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
+    private static Timer verificationTimer(String result, MeterRegistry meterRegistry) {
+        return Timer.builder("forum.jwt.verification")
+                .description("Latência da verificação de JWT, servida pelo cache ou com checagem da assinatura")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
 
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível.", e);
+        }
+    }
 }
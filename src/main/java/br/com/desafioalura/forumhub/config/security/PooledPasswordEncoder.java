@@ -0,0 +1,184 @@
+package br.com.desafioalura.forumhub.config.security;
+
+import br.com.desafioalura.forumhub.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa o hash e a verificação de senhas (BCrypt) em um pool próprio e limitado. A thread do Tomcat que
+ * chama continua bloqueada até o resultado ou o {@code waitTimeout}; o que o pool limita é quantos hashes rodam
+ * ao mesmo tempo, de modo que uma rajada de logins não tome a CPU dos demais endpoints e seja recusada cedo em
+ * vez de se acumular.
+ *
+ * <p>Com o pool e a fila cheios, ou se a espera passar do {@code waitTimeout}, a chamada falha com
+ * {@link ServiceOverloadedException} (503). Tamanho da fila, threads ativas, tempo na fila
+ * ({@code executor.idle}) e tempo de hash ({@code executor}) são publicados com {@code name=bcrypt};
+ * a latência vista por quem chama fica em {@code forum.bcrypt{operation=encode|matches}}.</p>
+ *
+ * <p>Limites: quem chama espera no máximo {@code waitTimeout}. Uma tarefa cujo chamador desistiu sai da fila
+ * e não roda. Um hash que já começou não pode ser interrompido (o BCrypt ignora interrupção) e vai até o fim,
+ * mas nunca há mais que {@code threads} deles. A fila cheia leva cerca de
+ * {@code (queueCapacity / threads + 1) × tempo de um hash} para escoar; a calibração avisa quando isso passa
+ * do {@code waitTimeout}, caso em que a fila só acumula tarefas que vão expirar.</p>
+ */
+public class PooledPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    public static final String EXECUTOR_NAME = "bcrypt";
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledPasswordEncoder.class);
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final int queueCapacity;
+    private final Duration waitTimeout;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration waitTimeout,
+                                 MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.queueCapacity = queueCapacity;
+        this.waitTimeout = waitTimeout;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "bcrypt-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, EXECUTOR_NAME);
+        this.encodeTimer = latencyTimer("encode", meterRegistry);
+        this.matchesTimer = latencyTimer("matches", meterRegistry);
+        this.rejected = Counter.builder("forum.bcrypt.rejected")
+                .description("Operações de senha recusadas com o pool do BCrypt saturado")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Mede o custo real de um hash nesta máquina, para orientar a escolha do {@code strength}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void calibrate() {
+        String encoded = delegate.encode("calibracao");
+        long start = System.nanoTime();
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            delegate.encode("calibracao");
+        }
+        long millisPerHash = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / CALIBRATION_ROUNDS;
+        int threads = pool.getCorePoolSize();
+        logger.info("BCrypt ({}): {} ms por hash; pool de {} threads, fila de {}.",
+                encoded.substring(0, 7), millisPerHash, threads, queueCapacity);
+        long drainMillis = millisPerHash * ((long) queueCapacity / threads + 1);
+        if (drainMillis > waitTimeout.toMillis()) {
+            logger.warn("A fila cheia do BCrypt leva cerca de {} ms para escoar, mais que o tempo de espera de {} ms: "
+                    + "as últimas tarefas da fila vão expirar antes de rodar. Reduza forum.security.bcrypt.queue-capacity "
+                    + "ou aumente forum.security.bcrypt.wait-timeout.", drainMillis, waitTimeout.toMillis());
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private <T> T submit(Timer timer, Callable<T> task) {
+        long start = System.nanoTime();
+        try {
+            return submitAndWait(task);
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private <T> T submitAndWait(Callable<T> task) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                // Quem chamou já desistiu (e recebeu 503) entre o fim da espera e o cancelamento.
+                if (System.nanoTime() - deadline >= 0) {
+                    throw new CancellationException();
+                }
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            logger.warn("Pool do BCrypt saturado: operação de senha recusada.");
+            throw new ServiceOverloadedException("Muitas requisições de autenticação. Tente novamente em instantes.");
+        }
+
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abandon(future);
+            rejected.increment();
+            throw new ServiceOverloadedException("Tempo de espera da autenticação esgotado. Tente novamente em instantes.");
+        } catch (InterruptedException e) {
+            abandon(future);
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Autenticação interrompida.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Tira da fila a tarefa de quem desistiu, liberando a vaga. Interromper não adianta: um hash em
+     * andamento termina de qualquer forma.
+     */
+    private void abandon(Future<?> future) {
+        if (future.cancel(false)) {
+            pool.purge();
+        }
+    }
+
+    private static Timer latencyTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("forum.bcrypt")
+                .description("Latência das operações de senha, incluindo a espera na fila do pool")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -1,6 +1,9 @@
 package br.com.desafioalura.forumhub.config.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,7 +16,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -21,6 +23,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
@@ -38,8 +41,14 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PooledPasswordEncoder passwordEncoder(@Value("${forum.security.bcrypt.strength:10}") int strength,
+                                                 @Value("${forum.security.bcrypt.threads:0}") int threads,
+                                                 @Value("${forum.security.bcrypt.queue-capacity:64}") int queueCapacity,
+                                                 @Value("${forum.security.bcrypt.wait-timeout:5s}") Duration waitTimeout,
+                                                 MeterRegistry meterRegistry) {
+        // Sem valor configurado, uma thread por núcleo: BCrypt é CPU pura e mais threads só disputariam a CPU.
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new PooledPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, waitTimeout, meterRegistry);
     }
 
     @Bean
@@ -49,9 +58,12 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // JWT não usa sessão
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/auth/login", "/auth/register", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        .requestMatchers("/auth/login", "/auth/register", "/auth/refresh", "/auth/logout", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         .requestMatchers("/swagger-ui.html", "/swagger-ui/index.html", "/v3/api-docs").permitAll() // Permite acesso público ao Swagger UI
                         .requestMatchers("/public","/forum/post").permitAll()
+                        // Scrape do Prometheus: o actuator roda só em management.server.port, e o matcher só
+                        // reconhece requisições a essa porta.
+                        .requestMatchers(EndpointRequest.to("prometheus")).permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
@@ -0,0 +1,112 @@
+package br.com.desafioalura.forumhub.config.security;
+
+import br.com.desafioalura.forumhub.model.RevokedToken;
+import br.com.desafioalura.forumhub.repository.RevokedTokenRepository;
+import br.com.desafioalura.forumhub.util.AfterCommit;
+import br.com.desafioalura.forumhub.util.BloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lista de JWT revogados (pelo {@code jti}) consultada a cada requisição sem acesso ao banco: um filtro de
+ * Bloom descarta de imediato os tokens nunca revogados e só os positivos são confirmados no conjunto exato.
+ *
+ * <p>As revogações são gravadas em {@code revoked_tokens}, e a lista é reconstruída dessa tabela na
+ * inicialização, antes de o servidor aceitar requisições. Revogações feitas por outra instância só são
+ * vistas por esta após reiniciá-la.</p>
+ */
+@Component
+public class TokenRevocationList implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+    private static final int PURGE_INTERVAL = 1024;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    // jti → expiração do token; depois dela o token já é recusado pela própria verificação do JWT.
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final AtomicLong revocations = new AtomicLong();
+    private volatile BloomFilter bloomFilter;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               @Value("${forum.security.revocation.expected-insertions:100000}") long expectedInsertions,
+                               @Value("${forum.security.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                               MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        Gauge.builder("forum.jwt.revoked", revoked, Map::size)
+                .description("Tokens revogados ainda não expirados mantidos em memória")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Remove da tabela os tokens já expirados e recarrega os demais em memória.
+     */
+    public void rebuild() {
+        Instant now = Instant.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        List<RevokedToken> active = revokedTokenRepository.findByExpiresAtAfter(now);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, active.size() * 2L), falsePositiveRate);
+        revoked.clear();
+        for (RevokedToken token : active) {
+            rebuilt.put(token.getJti());
+            revoked.put(token.getJti(), token.getExpiresAt());
+        }
+        bloomFilter = rebuilt;
+        logger.info("Lista de tokens revogados carregada: {} ativos, {} expirados removidos.", active.size(), purged);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        return revoked.containsKey(tokenId);
+    }
+
+    /**
+     * Revoga o token até sua expiração. A gravação na transação corrente é também a reivindicação do token:
+     * de duas revogações concorrentes, só uma recebe {@code true}. A memória é atualizada após o commit, para
+     * que um rollback não deixe o token revogado só nesta instância.
+     *
+     * @return {@code true} se esta chamada revogou o token; {@code false} se ele já estava revogado, expirou
+     * ou não tem {@code jti}.
+     */
+    public boolean revoke(VerifiedToken token) {
+        Instant now = Instant.now();
+        if (token.tokenId() == null || token.expiresAt() == null || token.isExpired(now)) {
+            return false;
+        }
+        if (revokedTokenRepository.insertIgnore(token.tokenId(), token.expiresAt(), now) == 0) {
+            return false;
+        }
+
+        AfterCommit.run(() -> {
+            bloomFilter.put(token.tokenId());
+            revoked.put(token.tokenId(), token.expiresAt());
+            if (revocations.incrementAndGet() % PURGE_INTERVAL == 0) {
+                revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(Instant.now()));
+            }
+        });
+        return true;
+    }
+}
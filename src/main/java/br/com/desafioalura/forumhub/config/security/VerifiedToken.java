@@ -0,0 +1,21 @@
+package br.com.desafioalura.forumhub.config.security;
+
+import java.time.Instant;
+
+/**
+ * Claims de um JWT cuja assinatura e validade já foram verificadas por {@link JwtTokenUtil#verify(String)}.
+ */
+public record VerifiedToken(String tokenId, String type, String subject, Long userId, String role, Instant expiresAt) {
+
+    public boolean isAccessToken() {
+        return JwtTokenUtil.ACCESS_TOKEN.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return JwtTokenUtil.REFRESH_TOKEN.equals(type);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
@@ -74,6 +74,38 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Renovar tokens",
+            description = "Troca um refresh token válido por um novo token de acesso e um novo refresh token, sem exigir a senha. O refresh token usado deixa de valer."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens renovados com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuthResponseDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado ou revogado",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDTO> refreshToken(@RequestBody @Valid RefreshTokenDTO request) {
+        return ResponseEntity.ok(authService.refreshToken(request.refreshToken()));
+    }
+
+    @Operation(
+            summary = "Encerrar sessão",
+            description = "Revoga o refresh token informado e, se enviado no cabeçalho Authorization, o token de acesso."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Sessão encerrada"),
+            @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado ou revogado",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody @Valid RefreshTokenDTO request,
+                                       @RequestHeader(value = "Authorization", required = false) String authorization) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authService.logout(request.refreshToken(), accessToken);
+        return ResponseEntity.noContent().build();
+    }
+
     @Operation(
             summary = "Atualizar usuário",
             description = "Atualiza os dados de um usuário existente pelo ID"
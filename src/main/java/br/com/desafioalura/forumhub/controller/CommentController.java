@@ -1,7 +1,7 @@
 package br.com.desafioalura.forumhub.controller;
 
 import br.com.desafioalura.forumhub.dto.CommentDTO;
-import br.com.desafioalura.forumhub.repository.UserRepository;
+import br.com.desafioalura.forumhub.config.security.AuthenticatedUser;
 import br.com.desafioalura.forumhub.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,10 +12,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
 import java.util.List;
 
 @RestController
@@ -24,11 +23,9 @@ import java.util.List;
 public class CommentController {
 
     private final CommentService commentService;
-    private final UserRepository userRepository;
 
-    public CommentController(CommentService commentService, UserRepository userRepository) {
+    public CommentController(CommentService commentService) {
         this.commentService = commentService;
-        this.userRepository = userRepository;
     }
 
     @Operation(summary = "Listar comentários de um post")
@@ -49,10 +46,9 @@ public class CommentController {
     public ResponseEntity<CommentDTO> addComment(
             @PathVariable Long postId,
             @Valid @RequestBody CommentDTO request,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
 
-        Long userId = getUserIdFromPrincipal(principal);
-        CommentDTO createdComment = commentService.addComment(postId, userId, request);
+        CommentDTO createdComment = commentService.addComment(postId, currentUser, request);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdComment);
     }
 
@@ -70,10 +66,9 @@ public class CommentController {
             @PathVariable Long postId,
             @PathVariable Long commentId,
             @Valid @RequestBody CommentDTO request, // O DTO de requisição pode ser o mesmo, ou um específico para update
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
 
-        Long userId = getUserIdFromPrincipal(principal);
-        CommentDTO updatedComment = commentService.updateComment(postId, commentId, userId, request);
+        CommentDTO updatedComment = commentService.updateComment(postId, commentId, currentUser.id(), request);
         return ResponseEntity.ok(updatedComment);
     }
 
@@ -87,17 +82,10 @@ public class CommentController {
     public ResponseEntity<Void> deleteComment(
             @PathVariable Long postId,
             @PathVariable Long commentId,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
 
-        Long userId = getUserIdFromPrincipal(principal);
-        commentService.deleteComment(postId, commentId, userId);
+        commentService.deleteComment(postId, commentId, currentUser.id());
         return ResponseEntity.noContent().build();
     }
 
-    private Long getUserIdFromPrincipal(Principal principal) {
-        String email = principal.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado"))
-                .getId();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package br.com.desafioalura.forumhub.controller;
+
+import br.com.desafioalura.forumhub.dto.JfrRecordingDTO;
+import br.com.desafioalura.forumhub.dto.QueryShapeDTO;
+import br.com.desafioalura.forumhub.exception.InvalidParameterException;
+import br.com.desafioalura.forumhub.monitoring.FlightRecordingService;
+import br.com.desafioalura.forumhub.monitoring.SlowQueryRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+@Tag(name = "Monitoramento", description = "Diagnóstico de desempenho (apenas administradores)")
+@RestController
+@RequestMapping("/admin")
+@PreAuthorize("hasRole('ADMIN')")
+public class MonitoringController {
+
+    private static final int MAX_LIMIT = 500;
+
+    private static final DateTimeFormatter DUMP_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final SlowQueryRegistry slowQueryRegistry;
+    private final FlightRecordingService flightRecordingService;
+
+    public MonitoringController(SlowQueryRegistry slowQueryRegistry, FlightRecordingService flightRecordingService) {
+        this.slowQueryRegistry = slowQueryRegistry;
+        this.flightRecordingService = flightRecordingService;
+    }
+
+    @Operation(summary = "Perfil de consultas SQL",
+            description = "Formas de consulta ordenadas por tempo total, p99, máximo ou número de execuções")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Perfil retornado com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Parâmetros inválidos"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado")
+    })
+    @GetMapping("/sql-profile")
+    public ResponseEntity<List<QueryShapeDTO>> getSqlProfile(
+            @RequestParam(defaultValue = "TOTAL_TIME") SlowQueryRegistry.Order orderBy,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidParameterException("O parâmetro 'limit' deve estar entre 1 e " + MAX_LIMIT + ".");
+        }
+        return ResponseEntity.ok(slowQueryRegistry.top(orderBy, limit));
+    }
+
+    @Operation(summary = "Zerar perfil de consultas SQL")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Perfil zerado"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado")
+    })
+    @DeleteMapping("/sql-profile")
+    public ResponseEntity<Void> resetSqlProfile() {
+        slowQueryRegistry.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Iniciar gravação JFR",
+            description = "Inicia uma gravação limitada por idade e tamanho, com os eventos das operações de serviço")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Gravação ativa"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado")
+    })
+    @PostMapping("/jfr/start")
+    public ResponseEntity<JfrRecordingDTO> startRecording() {
+        return ResponseEntity.ok(flightRecordingService.start());
+    }
+
+    @Operation(summary = "Parar gravação JFR")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Gravação parada"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "404", description = "Nenhuma gravação iniciada")
+    })
+    @PostMapping("/jfr/stop")
+    public ResponseEntity<JfrRecordingDTO> stopRecording() {
+        return ResponseEntity.ok(flightRecordingService.stop());
+    }
+
+    @Operation(summary = "Estado da gravação JFR")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado retornado com sucesso"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "404", description = "Nenhuma gravação iniciada")
+    })
+    @GetMapping("/jfr")
+    public ResponseEntity<JfrRecordingDTO> getRecording() {
+        return ResponseEntity.ok(flightRecordingService.status());
+    }
+
+    @Operation(summary = "Baixar gravação JFR",
+            description = "Arquivo .jfr com os dados da gravação, ativa ou parada, para o JDK Mission Control")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivo gerado"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "404", description = "Nenhuma gravação iniciada")
+    })
+    @GetMapping(value = "/jfr/dump", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public void dumpRecording(HttpServletResponse response) throws IOException {
+        // 404 antes de definir os cabeçalhos do arquivo.
+        flightRecordingService.status();
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"forumhub-"
+                + DUMP_TIMESTAMP.format(Instant.now()) + ".jfr\"");
+        flightRecordingService.dump(response.getOutputStream());
+    }
+}
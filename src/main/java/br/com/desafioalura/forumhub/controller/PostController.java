@@ -1,12 +1,17 @@
 package br.com.desafioalura.forumhub.controller;
 
+import br.com.desafioalura.forumhub.config.security.AuthenticatedUser;
 import br.com.desafioalura.forumhub.dto.*;
+import br.com.desafioalura.forumhub.exception.InvalidParameterException;
 import br.com.desafioalura.forumhub.exception.ResourceNotFoundException;
 import br.com.desafioalura.forumhub.exception.UnauthorizedActionException;
 import br.com.desafioalura.forumhub.model.Post;
-import br.com.desafioalura.forumhub.model.User;
-import br.com.desafioalura.forumhub.service.AuthService;
+import br.com.desafioalura.forumhub.service.LikeService;
 import br.com.desafioalura.forumhub.service.PostService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -14,6 +19,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
@@ -23,31 +29,41 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @Tag(name = "Controle de post", description = "Endpoints para registro e gerenciamento de posts")
 @RestController
 @RequestMapping("/forum/posts")
 public class PostController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+    private static final int MAX_LIKED_STATUS_IDS = 100;
+
     private final PostService postService;
 
-    private final AuthService authService; // Service to get current authenticated user
+    private final LikeService likeService;
 
     private final ModelMapper modelMapper; // Used for mapping between DTOs and Entities
 
+    private final ObjectMapper objectMapper;
 
-    public PostController(PostService postService, AuthService authService, ModelMapper modelMapper) {
+
+    public PostController(PostService postService, LikeService likeService, ModelMapper modelMapper, ObjectMapper objectMapper) {
         this.postService = postService;
-        this.authService = authService;
+        this.likeService = likeService;
         this.modelMapper = modelMapper;
-    }
-
-    private User getCurrentUser() {
-        return authService.getCurrentAuthenticatedUser();
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Listar todos os posts")
@@ -58,6 +74,51 @@ public class PostController {
         return ResponseEntity.ok(posts);
     }
 
+    // Sem produces no mapeamento acima, Accept: */* (ou ausente) continua caindo no array JSON; só quem pede
+    // application/x-ndjson explicitamente chega aqui.
+    @Operation(summary = "Listar todos os posts (NDJSON)", description = "Com `Accept: application/x-ndjson`, a listagem é transmitida em streaming, como em /export.")
+    @ApiResponse(responseCode = "200", description = "Posts transmitidos com sucesso",
+            content = @Content(mediaType = NDJSON))
+    @GetMapping(produces = NDJSON)
+    public void streamAllPosts(HttpServletResponse response) throws IOException {
+        writeNdjson(response);
+    }
+
+    @Operation(summary = "Exportar todos os posts (NDJSON)", description = "Transmite todos os posts como JSON delimitado por linha (um post por linha), à medida que são lidos do banco. Cada post traz as contagens de curtidas e comentários.")
+    @ApiResponse(responseCode = "200", description = "Exportação transmitida com sucesso",
+            content = @Content(mediaType = NDJSON))
+    @GetMapping(value = "/export", produces = NDJSON)
+    public void exportAllPosts(HttpServletResponse response) throws IOException {
+        writeNdjson(response);
+    }
+
+    /**
+     * Um post por linha, à medida que são lidos do banco. O separador de valores raiz do Jackson (um espaço)
+     * é desligado: cada linha é só o JSON do post seguido de {@code \n}.
+     */
+    private void writeNdjson(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ObjectWriter writer = objectMapper.writerFor(PostDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            int[] written = {0};
+            postService.exportAllPosts(post -> {
+                try {
+                    writer.writeValue(generator, post);
+                    generator.writeRaw('\n');
+                    if (++written[0] % EXPORT_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
     @Operation(summary = "Buscar post por ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Post encontrado"),
@@ -81,12 +142,12 @@ public class PostController {
     @PostMapping
     public ResponseEntity<PostDTO> createPost(
             @RequestBody @Valid PostRequestDTO postRequestDTO,
-            UriComponentsBuilder uriBuilder) {
-        User currentUser = authService.getCurrentAuthenticatedUser();
+            UriComponentsBuilder uriBuilder,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        PostDTO createdPost = postService.createPost(postRequestDTO, currentUser.getId());
+        PostDTO createdPost = postService.createPost(postRequestDTO, currentUser);
         URI location = uriBuilder.path("/posts/{id}")
                 .buildAndExpand(createdPost.getId())
                 .toUri();
@@ -101,12 +162,12 @@ public class PostController {
     @PutMapping("/{id}")
     public ResponseEntity<PostDTO> updatePost(
             @PathVariable Long id,
-            @RequestBody @Valid PostUpdateDTO dto) {
-        User currentUser = authService.getCurrentAuthenticatedUser();
+            @RequestBody @Valid PostUpdateDTO dto,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        return ResponseEntity.ok(postService.updatePost(id, dto, currentUser.getId()));
+        return ResponseEntity.ok(postService.updatePost(id, dto, currentUser.id()));
     }
 
     @Operation(summary = "Excluir (inativar) um post")
@@ -117,13 +178,13 @@ public class PostController {
             @ApiResponse(responseCode = "404", description = "Post não encontrado")
     })
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deletePost(@PathVariable Long id) {
-        User currentUser = authService.getCurrentAuthenticatedUser();
+    public ResponseEntity<Void> deletePost(@PathVariable Long id,
+                                           @AuthenticationPrincipal AuthenticatedUser currentUser) {
         if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         try {
-            postService.deletePost(id, currentUser.getId());
+            postService.deletePost(id, currentUser.id());
             return ResponseEntity.noContent().build();
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
@@ -164,7 +225,9 @@ public class PostController {
     @GetMapping("/active")
     public ResponseEntity<?> getActivePosts(
             @PageableDefault(size = 10, sort = {"createdAt"}, direction = Sort.Direction.DESC)
-            Pageable pageable) {
+            Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean includeLiked,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
             if (pageable.isUnpaged()) {
                 List<Post> posts = postService.findAllByActiveTrueOrderByCreatedDateDesc();
                 return ResponseEntity.ok(posts);
@@ -173,33 +236,85 @@ public class PostController {
                     pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("createdAt").descending());
                 }
                 List<PostDTO> postsPage = postService.findAllByActiveTrue(pageable);
-                return ResponseEntity.ok(postsPage);
+                return ResponseEntity.ok(withLikedStatus(postsPage, includeLiked, currentUser));
             }
     }
 
-    @Operation(summary = "Buscar posts por título e/ou conteúdo (parcial)")
+    @Operation(summary = "Obter posts ativos por cursor", description = "Retorna o feed de posts ativos ordenado pela data de criação (decrescente) usando paginação por cursor. Envie o valor de 'next' da resposta anterior no parâmetro 'cursor' para obter a próxima página; 'next' é nulo na última página.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Posts recuperados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    @GetMapping("/active/cursor")
+    public ResponseEntity<CursorPageDTO<PostDTO>> getActivePostsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeLiked,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        CursorPageDTO<PostDTO> page = postService.getActivePostsByCursor(cursor, size);
+        withLikedStatus(page.content(), includeLiked, currentUser);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "Buscar posts por título e/ou conteúdo, ordenados por relevância")
     @ApiResponse(responseCode = "200", description = "Posts encontrados com sucesso")
     @GetMapping("/search")
     public ResponseEntity<Page<PostDTO>> searchPosts(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String content,
-            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
+            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean includeLiked,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
         Page<PostDTO> result = postService.searchPostsByTitleOrContent(title, content, pageable);
+        withLikedStatus(result.getContent(), includeLiked, currentUser);
         return ResponseEntity.ok(result);
     }
 
     @Operation(summary = "Listar posts por usuário")
     @ApiResponse(responseCode = "200", description = "Posts do usuário retornados")
     @GetMapping("/user/{userId}")
-    public ResponseEntity<Page<PostDTO>> getByUser(@PathVariable Long userId, Pageable pageable) {
-        return ResponseEntity.ok(postService.getPostsByUser(userId, pageable));
+    public ResponseEntity<Page<PostDTO>> getByUser(@PathVariable Long userId, Pageable pageable,
+                                                   @RequestParam(defaultValue = "false") boolean includeLiked,
+                                                   @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        Page<PostDTO> posts = postService.getPostsByUser(userId, pageable);
+        withLikedStatus(posts.getContent(), includeLiked, currentUser);
+        return ResponseEntity.ok(posts);
     }
 
     @Operation(summary = "Listar posts por curso")
     @ApiResponse(responseCode = "200", description = "Posts do curso retornados")
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<Page<PostDTO>> getByCourse(@PathVariable Long courseId, Pageable pageable) {
-        return ResponseEntity.ok(postService.getPostsByCourse(courseId, pageable));
+    public ResponseEntity<Page<PostDTO>> getByCourse(@PathVariable Long courseId, Pageable pageable,
+                                                     @RequestParam(defaultValue = "false") boolean includeLiked,
+                                                     @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        Page<PostDTO> posts = postService.getPostsByCourse(courseId, pageable);
+        withLikedStatus(posts.getContent(), includeLiked, currentUser);
+        return ResponseEntity.ok(posts);
+    }
+
+    @Operation(summary = "Status de curtida em lote", description = "Dentre os IDs informados (até " + MAX_LIKED_STATUS_IDS + "), devolve os dos posts que o usuário autenticado curtiu, na ordem recebida. As listagens também aceitam includeLiked=true para preencher likedByMe em cada post.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "IDs curtidos retornados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Mais IDs que o permitido")
+    })
+    @GetMapping("/liked")
+    public ResponseEntity<Set<Long>> getLikedPostIds(@RequestParam List<Long> ids,
+                                                     @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (ids.size() > MAX_LIKED_STATUS_IDS) {
+            throw new InvalidParameterException("Informe no máximo " + MAX_LIKED_STATUS_IDS + " IDs de posts.");
+        }
+        List<Long> postIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        return ResponseEntity.ok(likeService.findLikedPostIds(currentUser.id(), postIds));
+    }
+
+    // Preenche likedByMe com uma única consulta (ou nenhuma, com o cache do usuário) para a página toda.
+    private List<PostDTO> withLikedStatus(List<PostDTO> posts, boolean includeLiked, AuthenticatedUser currentUser) {
+        if (!includeLiked || currentUser == null || posts.isEmpty()) {
+            return posts;
+        }
+        Set<Long> liked = likeService.findLikedPostIds(currentUser.id(), posts.stream().map(PostDTO::getId).toList());
+        posts.forEach(post -> post.setLikedByMe(liked.contains(post.getId())));
+        return posts;
     }
 }
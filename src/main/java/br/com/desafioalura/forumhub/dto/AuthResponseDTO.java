@@ -1,10 +1,16 @@
 package br.com.desafioalura.forumhub.dto;
 
 import br.com.desafioalura.forumhub.model.User;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record AuthResponseDTO(
         String email,
         String token,
-        User.Role role
-){}
-
+        User.Role role,
+        String refreshToken
+){
+    public AuthResponseDTO(String email, String token, User.Role role) {
+        this(email, token, role, null);
+    }
+}
@@ -20,6 +20,10 @@ public class CommentDTO {
     private LocalDateTime createdAt;
    // private String userName;
 
+    public CommentDTO copy() {
+        return new CommentDTO(id, content, userEmail, createdAt);
+    }
+
     public static CommentDTO fromEntity(Comment comment) {
         CommentDTO dto = new CommentDTO();
         dto.setId(comment.getId());
@@ -0,0 +1,14 @@
+package br.com.desafioalura.forumhub.dto;
+
+import java.util.List;
+
+/**
+ * Página de resultados navegada por cursor (keyset).
+ *
+ * @param content Itens da página atual.
+ * @param next    Cursor opaco para a próxima página, ou {@code null} quando não há mais itens.
+ */
+public record CursorPageDTO<T>(
+        List<T> content,
+        String next
+) {}
@@ -0,0 +1,17 @@
+package br.com.desafioalura.forumhub.dto;
+
+import java.time.Instant;
+
+/**
+ * Estado da gravação JFR do fórum.
+ *
+ * @param state        Estado da gravação ({@code RUNNING}, {@code STOPPED}, ...).
+ * @param startTime    Início da gravação.
+ * @param stopTime     Fim da gravação, ou {@code null} enquanto estiver ativa.
+ * @param sizeBytes    Tamanho atual dos dados gravados.
+ * @param maxAgeSeconds Idade máxima dos dados mantidos.
+ * @param maxSizeBytes Tamanho máximo dos dados mantidos.
+ */
+public record JfrRecordingDTO(String state, Instant startTime, Instant stopTime, long sizeBytes,
+                              long maxAgeSeconds, long maxSizeBytes) {
+}
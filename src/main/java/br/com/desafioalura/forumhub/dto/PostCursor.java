@@ -0,0 +1,52 @@
+package br.com.desafioalura.forumhub.dto;
+
+import br.com.desafioalura.forumhub.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição no feed de posts ativos, ordenado por (created_at DESC, id DESC).
+ * Trafega para o cliente como um token opaco em Base64 URL-safe.
+ */
+public record PostCursor(
+        LocalDateTime createdAt,
+        Long id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    public static PostCursor of(PostDTO post) {
+        return new PostCursor(post.getCreatedAt(), post.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws InvalidCursorException Se o token não for um cursor emitido por {@link #encode()}.
+     */
+    public static PostCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor inválido.", e);
+        }
+        int separator = raw.lastIndexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new InvalidCursorException("Cursor inválido.");
+        }
+        try {
+            return new PostCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new InvalidCursorException("Cursor inválido.", e);
+        }
+    }
+}
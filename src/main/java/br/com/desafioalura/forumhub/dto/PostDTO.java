@@ -1,14 +1,16 @@
 package br.com.desafioalura.forumhub.dto;
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.data.annotation.CreatedDate;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
-@Builder
+@Builder(toBuilder = true)
 @Setter @Getter @AllArgsConstructor @NoArgsConstructor
 public class PostDTO {
     private Long id;
@@ -20,8 +22,39 @@ public class PostDTO {
     private boolean active = true;
     private String userEmail;
     private int likesCount;
+    private int commentsCount;
     private Long courseId;
     private String courseName;
+    // Presente apenas no detalhe do post; listagens trazem somente commentsCount.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<CommentDTO> comments;
+    // Presente apenas nas listagens pedidas com includeLiked=true.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean likedByMe;
 
+    /**
+     * Cópia independente deste DTO, inclusive da lista de comentários, para que quem a recebe possa
+     * alterá-la sem afetar o original (por exemplo, o valor guardado no cache de detalhe).
+     */
+    public PostDTO copy() {
+        return toBuilder()
+                .comments(comments == null ? null : comments.stream().map(CommentDTO::copy).collect(Collectors.toList()))
+                .build();
+    }
+
+    public static PostDTO fromSummary(PostSummaryDTO summary) {
+        return PostDTO.builder()
+                .id(summary.id())
+                .title(summary.title())
+                .content(summary.content())
+                .createdAt(summary.createdAt())
+                .updatedAt(summary.updatedAt())
+                .active(Boolean.TRUE.equals(summary.active()))
+                .userEmail(summary.userEmail())
+                .likesCount(summary.likesCount())
+                .commentsCount(summary.commentsCount())
+                .courseId(summary.courseId())
+                .courseName(summary.courseName())
+                .build();
+    }
 }
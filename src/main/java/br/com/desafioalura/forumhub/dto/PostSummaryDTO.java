@@ -0,0 +1,21 @@
+package br.com.desafioalura.forumhub.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de listagem de posts montada diretamente pela consulta (construtor JPQL),
+ * com as contagens de curtidas e comentários lidas dos contadores denormalizados de posts.
+ */
+public record PostSummaryDTO(
+        Long id,
+        String title,
+        String content,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Boolean active,
+        String userEmail,
+        Long courseId,
+        String courseName,
+        Integer likesCount,
+        Integer commentsCount
+) {}
@@ -0,0 +1,8 @@
+package br.com.desafioalura.forumhub.dto;
+
+/**
+ * Estatísticas de uma forma de consulta SQL. Tempos em milissegundos; p50 e p99 têm erro de até 25%.
+ */
+public record QueryShapeDTO(String shape, long count, double totalMs, double meanMs, double p50Ms, double p99Ms,
+                            double maxMs) {
+}
@@ -0,0 +1,9 @@
+package br.com.desafioalura.forumhub.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenDTO(
+
+        @NotBlank(message = "O refresh token não pode estar vazio.")
+        String refreshToken
+){}
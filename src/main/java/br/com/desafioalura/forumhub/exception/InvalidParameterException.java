@@ -0,0 +1,12 @@
+package br.com.desafioalura.forumhub.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST) // Parâmetro de requisição fora do permitido; a mensagem é exibida ao cliente
+public class InvalidParameterException extends RuntimeException {
+
+    public InvalidParameterException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,10 @@
 package br.com.desafioalura.forumhub.exception.handler;
 
 import br.com.desafioalura.forumhub.exception.ErrorResponse;
+import br.com.desafioalura.forumhub.exception.InvalidCursorException;
+import br.com.desafioalura.forumhub.exception.InvalidParameterException;
 import br.com.desafioalura.forumhub.exception.ResourceNotFoundException;
+import br.com.desafioalura.forumhub.exception.ServiceOverloadedException;
 import br.com.desafioalura.forumhub.exception.UnauthorizedActionException;
 import br.com.desafioalura.forumhub.exception.UserAlreadyExistsException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -69,6 +72,30 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    // Só exceções lançadas de propósito, com mensagem escrita para o cliente; IllegalArgumentException de
+    // bibliotecas continua caindo no tratamento genérico, sem expor a mensagem interna.
+    @ExceptionHandler({InvalidCursorException.class, InvalidParameterException.class})
+    public ResponseEntity<ErrorResponse> handleInvalidRequestException(RuntimeException ex, HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Requisição Inválida",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(ServiceOverloadedException ex, HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Serviço Sobrecarregado",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, HttpServletRequest request) {
         ErrorResponse errorResponse = new ErrorResponse(
@@ -5,18 +5,24 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "courses")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Course.CACHE_REGION)
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Course {
 
+    public static final String CACHE_REGION = "courses";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -0,0 +1,53 @@
+package br.com.desafioalura.forumhub.monitoring;
+
+import br.com.desafioalura.forumhub.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Contadores de negócio: posts criados, comentários e curtidas. Incrementados só depois do commit, para que
+ * transações desfeitas não entrem na conta.
+ */
+@Component
+public class BusinessMetrics {
+
+    private final Counter postsCreated;
+    private final Counter commentsCreated;
+    private final Counter likes;
+    private final Counter unlikes;
+
+    public BusinessMetrics(MeterRegistry meterRegistry) {
+        this.postsCreated = Counter.builder("forum.posts.created")
+                .description("Posts criados")
+                .register(meterRegistry);
+        this.commentsCreated = Counter.builder("forum.comments.created")
+                .description("Comentários criados")
+                .register(meterRegistry);
+        this.likes = likeCounter("like", meterRegistry);
+        this.unlikes = likeCounter("unlike", meterRegistry);
+    }
+
+    public void postCreated() {
+        AfterCommit.run(postsCreated::increment);
+    }
+
+    public void commentCreated() {
+        AfterCommit.run(commentsCreated::increment);
+    }
+
+    public void liked() {
+        AfterCommit.run(likes::increment);
+    }
+
+    public void unliked() {
+        AfterCommit.run(unlikes::increment);
+    }
+
+    private static Counter likeCounter(String action, MeterRegistry meterRegistry) {
+        return Counter.builder("forum.likes")
+                .description("Curtidas efetivas (repetições idempotentes não contam)")
+                .tag("action", action)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,133 @@
+package br.com.desafioalura.forumhub.monitoring;
+
+import br.com.desafioalura.forumhub.dto.JfrRecordingDTO;
+import br.com.desafioalura.forumhub.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Controla uma única gravação JFR, limitada por idade e tamanho ({@code forum.jfr.max-age} e
+ * {@code forum.jfr.max-size}), com os eventos da JVM do perfil {@code forum.jfr.settings} e os
+ * {@link ServiceOperationEvent}. Fora de uma gravação os eventos do fórum ficam desabilitados.
+ */
+@Component
+public class FlightRecordingService {
+
+    public static final String RECORDING_NAME = "forumhub";
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingService.class);
+
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final String settings;
+    private Recording recording;
+
+    public FlightRecordingService(@Value("${forum.jfr.max-age:30m}") Duration maxAge,
+                                  @Value("${forum.jfr.max-size:250MB}") DataSize maxSize,
+                                  @Value("${forum.jfr.settings:default}") String settings) {
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.settings = settings;
+    }
+
+    /**
+     * Inicia a gravação. Se já houver uma ativa, apenas devolve o seu estado; uma gravação parada é descartada.
+     */
+    public synchronized JfrRecordingDTO start() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return toDTO(recording);
+        }
+        closeRecording();
+
+        Recording started = new Recording(loadConfiguration());
+        started.setName(RECORDING_NAME);
+        started.setMaxAge(maxAge);
+        started.setMaxSize(maxSize.toBytes());
+        started.setToDisk(true);
+        started.enable(ServiceOperationEvent.class);
+        started.start();
+        recording = started;
+        logger.info("Gravação JFR iniciada (idade máxima {}, tamanho máximo {}).", maxAge, maxSize);
+        return toDTO(started);
+    }
+
+    /**
+     * Para a gravação ativa; os dados continuam disponíveis para {@link #dump(OutputStream)}.
+     */
+    public synchronized JfrRecordingDTO stop() {
+        Recording current = requireRecording();
+        if (current.getState() == RecordingState.RUNNING) {
+            current.stop();
+            logger.info("Gravação JFR parada ({} bytes).", current.getSize());
+        }
+        return toDTO(current);
+    }
+
+    public synchronized JfrRecordingDTO status() {
+        return toDTO(requireRecording());
+    }
+
+    /**
+     * Copia os dados da gravação (ativa ou parada) no formato {@code .jfr}, sem interrompê-la.
+     */
+    public void dump(OutputStream out) throws IOException {
+        Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+        try {
+            synchronized (this) {
+                requireRecording().dump(file);
+            }
+            Files.copy(file, out);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        closeRecording();
+    }
+
+    private Recording requireRecording() {
+        if (recording == null) {
+            throw new ResourceNotFoundException("Nenhuma gravação JFR foi iniciada.");
+        }
+        return recording;
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private Configuration loadConfiguration() {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Configuração JFR inválida: " + settings, e);
+        }
+    }
+
+    private JfrRecordingDTO toDTO(Recording current) {
+        return new JfrRecordingDTO(current.getState().name(), current.getStartTime(), current.getStopTime(),
+                current.getSize(), maxAge.toSeconds(), maxSize.toBytes());
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.desafioalura.forumhub.monitoring;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências sem locks, em microssegundos: quatro buckets por potência de dois, o que limita o
+ * erro dos percentis a 25%. O registro é um incremento atômico; o cálculo dos percentis percorre os buckets
+ * só na leitura.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 4;
+    // Até 2^40 µs (cerca de 12 dias); valores acima ficam no último bucket.
+    private static final int BUCKETS = 40 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    void record(long micros) {
+        counts.incrementAndGet(indexOf(Math.max(micros, 0)));
+    }
+
+    /**
+     * Limite superior, em microssegundos, do bucket que contém o percentil {@code p} (entre 0 e 1).
+     */
+    long percentile(double p) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    static int indexOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (msb - 2)) & (SUB_BUCKETS - 1);
+        return Math.min((msb - 1) * SUB_BUCKETS + sub, BUCKETS - 1);
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int msb = index / SUB_BUCKETS + 1;
+        int sub = index % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + sub) << (msb - 2);
+        return lower + (1L << (msb - 2)) - 1;
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.desafioalura.forumhub.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Conta os comandos SQL de cada requisição (inclusive os do filtro de autenticação) com o {@link QueryCounter}.
+ * Requisições acima de {@code forum.query-count.warn-threshold} geram um aviso no log, o sinal típico de N+1.
+ *
+ * <p>O total fica no atributo {@link #QUERY_COUNT_ATTRIBUTE} da requisição, usado pelos testes para fixar o
+ * orçamento de consultas de cada endpoint. Com {@code forum.query-count.header-enabled} (perfil dev), também
+ * vai no cabeçalho {@value #QUERY_COUNT_HEADER}, escrito quando a resposta começa a ser enviada.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_COUNT_ATTRIBUTE = QueryCountFilter.class.getName() + ".count";
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final boolean headerEnabled;
+    private final int warnThreshold;
+
+    public QueryCountFilter(@Value("${forum.query-count.header-enabled:false}") boolean headerEnabled,
+                            @Value("${forum.query-count.warn-threshold:20}") int warnThreshold) {
+        this.headerEnabled = headerEnabled;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter.start();
+        QueryCountHeaderResponse countedResponse = headerEnabled ? new QueryCountHeaderResponse(response) : null;
+        try {
+            filterChain.doFilter(request, countedResponse != null ? countedResponse : response);
+        } finally {
+            int count = QueryCounter.stop();
+            request.setAttribute(QUERY_COUNT_ATTRIBUTE, count);
+            if (countedResponse != null && !response.isCommitted()) {
+                response.setHeader(QUERY_COUNT_HEADER, String.valueOf(count));
+            }
+            if (count > warnThreshold) {
+                logger.warn("{} {} executou {} comandos SQL (limite {}): possível N+1.",
+                        request.getMethod(), request.getRequestURI(), count, warnThreshold);
+            }
+        }
+    }
+
+    /**
+     * Escreve o cabeçalho com a contagem do momento em que a resposta é confirmada; depois disso não é mais
+     * possível alterar cabeçalhos.
+     */
+    private static final class QueryCountHeaderResponse extends OnCommittedResponseWrapper {
+
+        QueryCountHeaderResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            ((HttpServletResponse) getResponse()).setHeader(QUERY_COUNT_HEADER, String.valueOf(QueryCounter.current()));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.desafioalura.forumhub.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate na thread corrente, entre {@link #start()} e {@link #stop()}.
+ * O {@link #INSPECTOR} é registrado como {@code StatementInspector} e só conta enquanto houver contagem
+ * iniciada; fora dela (jobs de inicialização, por exemplo) não faz nada.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<int[]> CURRENT = new ThreadLocal<>();
+
+    public static final StatementInspector INSPECTOR = sql -> {
+        int[] count = CURRENT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    };
+
+    private QueryCounter() {
+    }
+
+    public static void start() {
+        CURRENT.set(new int[1]);
+    }
+
+    /**
+     * Comandos contados até agora, ou 0 se não houver contagem iniciada.
+     */
+    public static int current() {
+        int[] count = CURRENT.get();
+        return count != null ? count[0] : 0;
+    }
+
+    /**
+     * Encerra a contagem da thread e devolve o total.
+     */
+    public static int stop() {
+        int total = current();
+        CURRENT.remove();
+        return total;
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.desafioalura.forumhub.monitoring;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo da requisição corrente por fase, acumulado na thread entre {@link #start()} e {@link #stop()}. Fora de
+ * uma requisição medida, {@link #begin(Phase)}, {@link #end(Phase)} e {@link #add(Phase, long)} não fazem nada.
+ *
+ * <p>As fases podem se sobrepor: um proxy carregado durante o mapeamento conta em {@code map} e em {@code db}.</p>
+ */
+public final class RequestTimings {
+
+    public enum Phase {
+        JWT("jwt"),
+        DB("db"),
+        MAPPING("map"),
+        SERIALIZATION("json");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<Timings> CURRENT = new ThreadLocal<>();
+
+    private RequestTimings() {
+    }
+
+    public static void start() {
+        CURRENT.set(new Timings(System.nanoTime()));
+    }
+
+    /**
+     * Encerra a medição da thread e devolve os tempos, ou {@code null} se nenhuma estava em andamento.
+     */
+    public static Timings stop() {
+        Timings timings = CURRENT.get();
+        CURRENT.remove();
+        return timings;
+    }
+
+    public static Timings current() {
+        return CURRENT.get();
+    }
+
+    public static void begin(Phase phase) {
+        Timings timings = CURRENT.get();
+        if (timings != null && timings.openedAt[phase.ordinal()] == 0) {
+            timings.openedAt[phase.ordinal()] = System.nanoTime();
+        }
+    }
+
+    public static void end(Phase phase) {
+        Timings timings = CURRENT.get();
+        if (timings != null && timings.openedAt[phase.ordinal()] != 0) {
+            timings.elapsed[phase.ordinal()] += System.nanoTime() - timings.openedAt[phase.ordinal()];
+            timings.openedAt[phase.ordinal()] = 0;
+        }
+    }
+
+    public static void add(Phase phase, long nanos) {
+        Timings timings = CURRENT.get();
+        if (timings != null) {
+            timings.elapsed[phase.ordinal()] += nanos;
+        }
+    }
+
+    public static final class Timings {
+
+        private final long startedAt;
+        private final long[] elapsed = new long[PHASES.length];
+        private final long[] openedAt = new long[PHASES.length];
+
+        private Timings(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        /**
+         * Tempo da fase até agora, incluindo o trecho ainda em andamento (a serialização, quando a resposta é
+         * confirmada no meio dela).
+         */
+        public long elapsedNanos(Phase phase, long now) {
+            long open = openedAt[phase.ordinal()];
+            return elapsed[phase.ordinal()] + (open != 0 ? now - open : 0);
+        }
+
+        public long totalNanos(long now) {
+            return now - startedAt;
+        }
+
+        /**
+         * Valor do cabeçalho {@code Server-Timing}, em milissegundos:
+         * {@code jwt;dur=0.41, db;dur=3.20, map;dur=0.75, json;dur=0.30, total;dur=5.12}.
+         */
+        public String toHeaderValue(long now) {
+            StringBuilder header = new StringBuilder();
+            for (Phase phase : PHASES) {
+                appendMetric(header, phase.metricName, elapsedNanos(phase, now));
+                header.append(", ");
+            }
+            appendMetric(header, "total", totalNanos(now));
+            return header.toString();
+        }
+
+        private static void appendMetric(StringBuilder header, String name, long nanos) {
+            header.append(name)
+                    .append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.desafioalura.forumhub.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Ativa o cabeçalho {@code Server-Timing} e os timers por fase com {@code forum.server-timing.enabled=true}.
+ * O tempo do banco vem do proxy JDBC (ver {@code RoutingDataSourceConfig}) e o do mapeamento, do
+ * {@link TimedModelMapper} criado em {@code ModelMapperConfig}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "forum.server-timing", name = "enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    @Bean
+    public ServerTimingFilter serverTimingFilter(MeterRegistry meterRegistry) {
+        return new ServerTimingFilter(meterRegistry);
+    }
+
+    /**
+     * Substitui o conversor JSON padrão do Spring Boot, que só é criado na ausência de outro.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter timedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJacksonHttpMessageConverter(objectMapper);
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.desafioalura.forumhub.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede cada requisição com o {@link RequestTimings} e devolve o cabeçalho {@value #SERVER_TIMING_HEADER} com
+ * o tempo do filtro JWT, do banco, do mapeamento de DTOs e da serialização JSON. O cabeçalho é escrito quando a
+ * resposta é confirmada; ao fim, cada fase é registrada no timer {@code forum.http.server.timing{uri,method,phase}},
+ * com histograma para percentis por endpoint.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+    static final String METRIC_NAME = "forum.http.server.timing";
+
+    private final MeterRegistry meterRegistry;
+
+    public ServerTimingFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings.start();
+        try {
+            filterChain.doFilter(request, new ServerTimingResponse(response));
+        } finally {
+            RequestTimings.Timings timings = RequestTimings.stop();
+            long now = System.nanoTime();
+            if (!response.isCommitted()) {
+                response.setHeader(SERVER_TIMING_HEADER, timings.toHeaderValue(now));
+            }
+            record(request, timings, now);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestTimings.Timings timings, long now) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        for (RequestTimings.Phase phase : RequestTimings.Phase.values()) {
+            timer(uri, request.getMethod(), phase.metricName()).record(timings.elapsedNanos(phase, now), TimeUnit.NANOSECONDS);
+        }
+        timer(uri, request.getMethod(), "total").record(timings.totalNanos(now), TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String uri, String method, String phase) {
+        return Timer.builder(METRIC_NAME)
+                .description("Tempo das requisições por fase")
+                .tag("uri", uri)
+                .tag("method", method)
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+        ServerTimingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            RequestTimings.Timings timings = RequestTimings.current();
+            if (timings != null) {
+                ((HttpServletResponse) getResponse()).setHeader(SERVER_TIMING_HEADER, timings.toHeaderValue(System.nanoTime()));
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.desafioalura.forumhub.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma operação da camada de serviço, com duração, IDs das entidades e linhas devolvidas.
+ * Emitido pelo {@link ServiceOperationEventAspect}; sem gravação ativa, nada é montado nem registrado.
+ */
+@Name("br.com.desafioalura.forumhub.ServiceOperation")
+@Label("Operação de serviço")
+@Category({"ForumHub", "Serviços"})
+@Description("Chamada a um método público de PostService, CommentService, LikeService, AuthService ou CourseService")
+@StackTrace(false)
+public class ServiceOperationEvent extends Event {
+
+    @Label("Operação")
+    String operation;
+
+    @Label("IDs das entidades")
+    String entityIds;
+
+    @Label("Linhas")
+    @Description("Itens devolvidos (coleção ou página); -1 quando o retorno não é uma lista")
+    int rowCount;
+
+    @Label("Sucesso")
+    boolean success;
+
+    @Label("Erro")
+    String error;
+}
@@ -0,0 +1,86 @@
+package br.com.desafioalura.forumhub.monitoring;
+
+import br.com.desafioalura.forumhub.config.security.AuthenticatedUser;
+import br.com.desafioalura.forumhub.dto.CursorPageDTO;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.StringJoiner;
+
+/**
+ * Emite um {@link ServiceOperationEvent} por chamada aos serviços. Roda por fora da transação, para que a
+ * duração inclua o commit. Com o evento desabilitado (nenhuma gravação JFR ativa), o custo é a criação de um
+ * objeto de vida curta e uma checagem de flag.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ServiceOperationEventAspect {
+
+    @Around("within(br.com.desafioalura.forumhub.service.PostService)"
+            + " || within(br.com.desafioalura.forumhub.service.CommentService)"
+            + " || within(br.com.desafioalura.forumhub.service.LikeService)"
+            + " || within(br.com.desafioalura.forumhub.service.AuthService)"
+            + " || within(br.com.desafioalura.forumhub.service.CourseService)")
+    public Object recordOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceOperationEvent event = new ServiceOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            event.rowCount = rowCount(result);
+            event.success = true;
+            return result;
+        } catch (Throwable e) {
+            event.rowCount = -1;
+            event.error = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                        + "." + joinPoint.getSignature().getName();
+                event.entityIds = entityIds(joinPoint);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Argumentos que identificam entidades ({@code Long} e o usuário autenticado), como {@code postId=1,userId=2}.
+     */
+    private static String entityIds(ProceedingJoinPoint joinPoint) {
+        String[] names = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        Object[] args = joinPoint.getArgs();
+        StringJoiner ids = new StringJoiner(",");
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof Long id) {
+                ids.add((names != null ? names[i] : "arg" + i) + "=" + id);
+            } else if (args[i] instanceof AuthenticatedUser user) {
+                ids.add("userId=" + user.id());
+            }
+        }
+        return ids.toString();
+    }
+
+    private static int rowCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        } else if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        } else if (result instanceof CursorPageDTO<?> page) {
+            return page.content().size();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.desafioalura.forumhub.monitoring;
+
+import br.com.desafioalura.forumhub.dto.QueryShapeDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Tempo e frequência de cada forma de consulta SQL (o comando com literais e listas de IN normalizados), para
+ * encontrar as consultas mais lentas e mais frequentes em produção.
+ *
+ * <p>O registro não usa locks: o SQL bruto é mapeado para a sua forma uma única vez (o Hibernate repete o mesmo
+ * texto com parâmetros), e cada execução só incrementa contadores atômicos e um {@link LatencyHistogram}.
+ * A ordenação do top-N acontece apenas na leitura. Acima de {@code forum.sql-profiler.max-shapes} formas,
+ * as novas são somadas em {@link #OVERFLOW_SHAPE}.</p>
+ */
+@Component
+public class SlowQueryRegistry {
+
+    public static final String OVERFLOW_SHAPE = "(outras consultas)";
+
+    public enum Order {
+        TOTAL_TIME(Comparator.comparingDouble(QueryShapeDTO::totalMs)),
+        P99(Comparator.comparingDouble(QueryShapeDTO::p99Ms)),
+        MAX(Comparator.comparingDouble(QueryShapeDTO::maxMs)),
+        COUNT(Comparator.comparingLong(QueryShapeDTO::count));
+
+        private final Comparator<QueryShapeDTO> comparator;
+
+        Order(Comparator<QueryShapeDTO> comparator) {
+            this.comparator = comparator;
+        }
+    }
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final int maxShapes;
+    private final Map<String, ShapeStats> byShape = new ConcurrentHashMap<>();
+    private final Map<String, ShapeStats> bySql = new ConcurrentHashMap<>();
+
+    public SlowQueryRegistry(@Value("${forum.sql-profiler.max-shapes:500}") int maxShapes) {
+        this.maxShapes = maxShapes;
+    }
+
+    public void record(String sql, long elapsedNanos) {
+        ShapeStats stats = bySql.get(sql);
+        if (stats == null) {
+            stats = resolve(sql);
+        }
+        stats.record(elapsedNanos);
+    }
+
+    public List<QueryShapeDTO> top(Order order, int limit) {
+        return byShape.values().stream()
+                .map(ShapeStats::toDTO)
+                .sorted(order.comparator.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void reset() {
+        bySql.clear();
+        byShape.clear();
+    }
+
+    static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    private ShapeStats resolve(String sql) {
+        String shape = normalize(sql);
+        ShapeStats stats = byShape.get(shape);
+        if (stats == null) {
+            String key = byShape.size() < maxShapes ? shape : OVERFLOW_SHAPE;
+            stats = byShape.computeIfAbsent(key, ShapeStats::new);
+        }
+        // Textos distintos por excesso de literais não podem crescer o mapa sem limite.
+        if (bySql.size() < maxShapes * 4) {
+            bySql.putIfAbsent(sql, stats);
+        }
+        return stats;
+    }
+
+    private static final class ShapeStats {
+
+        private final String shape;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMicros = new LongAdder();
+        private final AtomicLong maxMicros = new AtomicLong();
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        ShapeStats(String shape) {
+            this.shape = shape;
+        }
+
+        void record(long elapsedNanos) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+            count.increment();
+            totalMicros.add(micros);
+            histogram.record(micros);
+            // Só disputa o CAS quando há um novo máximo, o que fica raro depois das primeiras execuções.
+            long max = maxMicros.get();
+            while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+                max = maxMicros.get();
+            }
+        }
+
+        QueryShapeDTO toDTO() {
+            long executions = count.sum();
+            long total = totalMicros.sum();
+            return new QueryShapeDTO(shape, executions, millis(total),
+                    executions == 0 ? 0 : millis(total / executions),
+                    millis(histogram.percentile(0.5)), millis(histogram.percentile(0.99)), millis(maxMicros.get()));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.desafioalura.forumhub.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Mede cada comando executado pelo proxy JDBC, soma o tempo à fase {@code db} do {@link RequestTimings} e,
+ * com o perfil ligado, o registra no {@link SlowQueryRegistry}. O tempo é medido aqui, em nanossegundos, porque
+ * o do {@link ExecutionInfo} tem resolução de milissegundos. Num batch, o tempo é dividido entre os comandos.
+ */
+public class SqlProfilingListener implements QueryExecutionListener {
+
+    private static final ThreadLocal<long[]> STARTED_AT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final SlowQueryRegistry registry;
+    private final boolean recordShapes;
+
+    public SqlProfilingListener(SlowQueryRegistry registry, boolean recordShapes) {
+        this.registry = registry;
+        this.recordShapes = recordShapes;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        STARTED_AT.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = System.nanoTime() - STARTED_AT.get()[0];
+        RequestTimings.add(RequestTimings.Phase.DB, elapsed);
+        if (!recordShapes || queryInfoList.isEmpty()) {
+            return;
+        }
+        long share = elapsed / queryInfoList.size();
+        for (QueryInfo queryInfo : queryInfoList) {
+            registry.record(queryInfo.getQuery(), share);
+        }
+    }
+}
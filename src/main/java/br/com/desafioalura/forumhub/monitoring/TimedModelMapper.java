@@ -0,0 +1,41 @@
+package br.com.desafioalura.forumhub.monitoring;
+
+import org.modelmapper.ModelMapper;
+
+import java.lang.reflect.Type;
+
+/**
+ * {@link ModelMapper} que soma o tempo de cada mapeamento à fase {@code map} do {@link RequestTimings}.
+ */
+public class TimedModelMapper extends ModelMapper {
+
+    @Override
+    public <D> D map(Object source, Class<D> destinationType) {
+        RequestTimings.begin(RequestTimings.Phase.MAPPING);
+        try {
+            return super.map(source, destinationType);
+        } finally {
+            RequestTimings.end(RequestTimings.Phase.MAPPING);
+        }
+    }
+
+    @Override
+    public void map(Object source, Object destination) {
+        RequestTimings.begin(RequestTimings.Phase.MAPPING);
+        try {
+            super.map(source, destination);
+        } finally {
+            RequestTimings.end(RequestTimings.Phase.MAPPING);
+        }
+    }
+
+    @Override
+    public <D> D map(Object source, Type destinationType) {
+        RequestTimings.begin(RequestTimings.Phase.MAPPING);
+        try {
+            return super.map(source, destinationType);
+        } finally {
+            RequestTimings.end(RequestTimings.Phase.MAPPING);
+        }
+    }
+}
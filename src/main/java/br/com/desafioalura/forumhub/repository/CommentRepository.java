@@ -2,6 +2,8 @@ package br.com.desafioalura.forumhub.repository;
 
 import br.com.desafioalura.forumhub.model.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,5 +14,11 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     List<Comment> findByPostId(Long postId);
 
+    /**
+     * Comentários do post já com o autor, em uma consulta: o DTO lê o e-mail de cada autor.
+     */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.post.id = :postId")
+    List<Comment> findByPostIdWithUser(@Param("postId") Long postId);
+
     Optional<Comment> findByIdAndPostId(Long commentId, Long postId);
 }
@@ -1,15 +1,57 @@
 package br.com.desafioalura.forumhub.repository;
 
 import br.com.desafioalura.forumhub.model.Like;
-import br.com.desafioalura.forumhub.model.Post;
-import br.com.desafioalura.forumhub.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
 
 public interface LikeRepository extends JpaRepository<Like, Long> {
-    boolean existsByUserAndPost(User user, Post post);
-    Optional<Like> findByUserAndPost(User user, Post post);
-    int countByPost(Post post);
+
+    /**
+     * IDs curtidos pelo usuário, em ordem crescente. Lido só do índice único (user_id, post_id).
+     */
+    @Query("SELECT l.post.id FROM Like l WHERE l.user.id = :userId ORDER BY l.post.id")
+    List<Long> findPostIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Quais dos {@code postIds} o usuário curtiu, em uma consulta ao índice único (user_id, post_id).
+     */
+    @Query("SELECT l.post.id FROM Like l WHERE l.user.id = :userId AND l.post.id IN :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Registra a curtida se ainda não existir. A chave única (user_id, post_id) faz a curtida repetida
+     * virar um no-op em vez de violação de constraint. O IGNORE também silencia a FK de usuário inexistente,
+     * então um 0 deve ser conferido com {@link #existsByUserIdAndPostId(Long, Long)}. O post deve existir e
+     * já estar travado ({@link PostRepository#incrementLikeCountReturning(Long, int)}).
+     *
+     * <p>O hint de query spaces restringe à tabela likes a invalidação do cache de segundo nível; sem ele,
+     * todo comando nativo esvaziaria as regiões de usuários e cursos.</p>
+     *
+     * @return 1 se a curtida foi criada; 0 se já existia ou o usuário não existe.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "likes"))
+    @Query(value = "INSERT IGNORE INTO likes (user_id, post_id, created_at) VALUES (:userId, :postId, NOW(6))",
+            nativeQuery = true)
+    int insertIgnore(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    boolean existsByUserIdAndPostId(Long userId, Long postId);
+
+    /**
+     * @return 1 se a curtida foi removida; 0 se não existia.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "likes"))
+    @Query(value = "DELETE FROM likes WHERE user_id = :userId AND post_id = :postId", nativeQuery = true)
+    int deleteByUserIdAndPostId(@Param("userId") Long userId, @Param("postId") Long postId);
 }
@@ -1,15 +1,24 @@
 package br.com.desafioalura.forumhub.repository;
 
+import br.com.desafioalura.forumhub.dto.PostSummaryDTO;
 import br.com.desafioalura.forumhub.model.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
@@ -27,10 +36,15 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 
     Optional<Post> findByIdAndActiveTrue(Long id);
 
+    /**
+     * Post ativo com autor, comentários e autores dos comentários em uma única consulta, para o detalhe.
+     */
+    @Query("SELECT p FROM Post p JOIN FETCH p.user LEFT JOIN FETCH p.comments c LEFT JOIN FETCH c.user " +
+            "WHERE p.id = :id AND p.active = true")
+    Optional<Post> findActiveByIdWithComments(@Param("id") Long id);
+
     boolean existsByTitleAndActiveTrue(String title);
     Optional<Post> findByTitleAndActiveTrue(String title);
-    Page<Post> findByUserIdAndActiveTrue(Long userId, Pageable pageable);
-    Page<Post> findByCourseIdAndActiveTrue(Long courseId, Pageable pageable);
 
     @Query("SELECT p FROM Post p WHERE p.title LIKE %:title% AND p.active = true")
     Optional<Post> findByTitleContainingAndActiveTrue(@Param("title") String title);
@@ -39,26 +53,141 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     Optional<Post> findByContentContainingAndActiveTrue(@Param("content") String content);
 
 
-    Page<Post> findByTitleContainingIgnoreCaseAndActiveTrue(String title, Pageable pageable);
-
-    Page<Post> findByContentContainingIgnoreCaseAndActiveTrue(String content, Pageable pageable);
-
-    Page<Post> findByTitleContainingIgnoreCaseOrContentContainingIgnoreCaseAndActiveTrue(String title, String content, Pageable pageable);
-
     Optional<Object> findByContentAndActiveTrue(String content);
 
-    @Query("SELECT DISTINCT p FROM Post p " +
-            "JOIN FETCH p.user u " +
-            "JOIN FETCH p.course c " +
-            "LEFT JOIN FETCH p.comments co " +
-            "LEFT JOIN FETCH p.likes l " +
-            "WHERE p.active = true")
-    Page<Post> findAllByActiveTrue(Pageable pageable);
-
     @Query("SELECT p FROM Post p WHERE p.active = true ORDER BY p.createdAt DESC")
     List<Post> findAllByActiveTrue();
 
     Page<Post> findAllByActiveTrueOrderByCreatedAtDesc(Pageable pageable);
 
     List<Post> findAllByActiveTrueOrderByCreatedAtDesc();
+
+    @Query("SELECT new br.com.desafioalura.forumhub.dto.PostSummaryDTO(" +
+            "p.id, p.title, p.content, p.createdAt, p.updatedAt, p.active, u.email, c.id, c.name, " +
+            "p.likeCount, p.commentCount) " +
+            "FROM Post p JOIN p.user u JOIN p.course c " +
+            "WHERE p.active = true ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryDTO> findActiveFeed(Limit limit);
+
+    @Query("SELECT new br.com.desafioalura.forumhub.dto.PostSummaryDTO(" +
+            "p.id, p.title, p.content, p.createdAt, p.updatedAt, p.active, u.email, c.id, c.name, " +
+            "p.likeCount, p.commentCount) " +
+            "FROM Post p JOIN p.user u JOIN p.course c " +
+            "WHERE p.active = true " +
+            "AND p.createdAt <= :createdAt " +
+            "AND (p.createdAt < :createdAt OR p.id < :id) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryDTO> findActiveFeedAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    // Consultas paginadas em duas fases: primeiro a página de IDs (LIMIT/OFFSET aplicados no banco),
+    // depois a projeção da página com findSummariesByIdIn, que calcula as contagens só para esses IDs.
+
+    @Query(value = "SELECT p.id FROM Post p WHERE p.active = true",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.active = true")
+    Page<Long> findActiveIds(Pageable pageable);
+
+    @Query(value = "SELECT p.id FROM Post p WHERE p.user.id = :userId AND p.active = true",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.user.id = :userId AND p.active = true")
+    Page<Long> findActiveIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = "SELECT p.id FROM Post p WHERE p.course.id = :courseId AND p.active = true",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.course.id = :courseId AND p.active = true")
+    Page<Long> findActiveIdsByCourseId(@Param("courseId") Long courseId, Pageable pageable);
+
+    @Query(value = "SELECT p.id FROM Post p WHERE p.active = true " +
+            "AND LOWER(p.title) LIKE LOWER(CONCAT('%', :title, '%'))",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.active = true " +
+                    "AND LOWER(p.title) LIKE LOWER(CONCAT('%', :title, '%'))")
+    Page<Long> findActiveIdsByTitleContaining(@Param("title") String title, Pageable pageable);
+
+    @Query(value = "SELECT p.id FROM Post p WHERE p.active = true " +
+            "AND LOWER(p.content) LIKE LOWER(CONCAT('%', :content, '%'))",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.active = true " +
+                    "AND LOWER(p.content) LIKE LOWER(CONCAT('%', :content, '%'))")
+    Page<Long> findActiveIdsByContentContaining(@Param("content") String content, Pageable pageable);
+
+    @Query(value = "SELECT p.id FROM Post p WHERE p.active = true " +
+            "AND (LOWER(p.title) LIKE LOWER(CONCAT('%', :title, '%')) " +
+            "OR LOWER(p.content) LIKE LOWER(CONCAT('%', :content, '%')))",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.active = true " +
+                    "AND (LOWER(p.title) LIKE LOWER(CONCAT('%', :title, '%')) " +
+                    "OR LOWER(p.content) LIKE LOWER(CONCAT('%', :content, '%')))")
+    Page<Long> findActiveIdsByTitleOrContentContaining(@Param("title") String title, @Param("content") String content, Pageable pageable);
+
+    // Busca FULLTEXT (V7): a ordenação é sempre por relevância, então o Pageable não deve trazer Sort.
+    @Query(value = "SELECT p.id FROM posts p WHERE p.active = true " +
+            "AND MATCH(p.title) AGAINST (:title IN NATURAL LANGUAGE MODE) " +
+            "ORDER BY MATCH(p.title) AGAINST (:title IN NATURAL LANGUAGE MODE) DESC, p.id DESC",
+            countQuery = "SELECT COUNT(*) FROM posts p WHERE p.active = true " +
+                    "AND MATCH(p.title) AGAINST (:title IN NATURAL LANGUAGE MODE)",
+            nativeQuery = true)
+    Page<Long> findActiveIdsByTitleMatching(@Param("title") String title, Pageable pageable);
+
+    @Query(value = "SELECT p.id FROM posts p WHERE p.active = true " +
+            "AND MATCH(p.content) AGAINST (:content IN NATURAL LANGUAGE MODE) " +
+            "ORDER BY MATCH(p.content) AGAINST (:content IN NATURAL LANGUAGE MODE) DESC, p.id DESC",
+            countQuery = "SELECT COUNT(*) FROM posts p WHERE p.active = true " +
+                    "AND MATCH(p.content) AGAINST (:content IN NATURAL LANGUAGE MODE)",
+            nativeQuery = true)
+    Page<Long> findActiveIdsByContentMatching(@Param("content") String content, Pageable pageable);
+
+    @Query(value = "SELECT p.id FROM posts p WHERE p.active = true " +
+            "AND MATCH(p.title, p.content) AGAINST (:terms IN NATURAL LANGUAGE MODE) " +
+            "ORDER BY MATCH(p.title, p.content) AGAINST (:terms IN NATURAL LANGUAGE MODE) DESC, p.id DESC",
+            countQuery = "SELECT COUNT(*) FROM posts p WHERE p.active = true " +
+                    "AND MATCH(p.title, p.content) AGAINST (:terms IN NATURAL LANGUAGE MODE)",
+            nativeQuery = true)
+    Page<Long> findActiveIdsByTitleOrContentMatching(@Param("terms") String terms, Pageable pageable);
+
+    @Query("SELECT new br.com.desafioalura.forumhub.dto.PostSummaryDTO(" +
+            "p.id, p.title, p.content, p.createdAt, p.updatedAt, p.active, u.email, c.id, c.name, " +
+            "p.likeCount, p.commentCount) " +
+            "FROM Post p JOIN p.user u JOIN p.course c " +
+            "WHERE p.id IN :ids")
+    List<PostSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Percorre todos os posts sem materializá-los: Integer.MIN_VALUE como fetch size faz o
+     * MySQL Connector/J entregar o resultado linha a linha. Enquanto o stream estiver aberto a
+     * conexão não aceita outras consultas, por isso a projeção já traz tudo o que a exportação usa.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new br.com.desafioalura.forumhub.dto.PostSummaryDTO(" +
+            "p.id, p.title, p.content, p.createdAt, p.updatedAt, p.active, u.email, c.id, c.name, " +
+            "p.likeCount, p.commentCount) " +
+            "FROM Post p JOIN p.user u JOIN p.course c " +
+            "ORDER BY p.id")
+    Stream<PostSummaryDTO> streamAllSummaries();
+
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = p.likeCount + :delta WHERE p.id = :id")
+    int incrementLikeCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :id")
+    int incrementCommentCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Query("SELECT p.likeCount FROM Post p WHERE p.id = :id")
+    Optional<Integer> findLikeCountById(@Param("id") Long id);
+
+    /**
+     * Aplica o delta ao contador de curtidas guardando o novo valor em LAST_INSERT_ID() da conexão, de onde
+     * {@link #lastInsertId()} o lê sem voltar à linha do post. O UPDATE trava a linha do post até o fim da
+     * transação; deve ser o primeiro comando de curtir/descurtir (veja {@code LikeService}).
+     *
+     * @return 1 se o post existe; 0 caso contrário.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "posts"))
+    @Query(value = "UPDATE posts SET like_count = LAST_INSERT_ID(like_count + :delta) WHERE id = :id",
+            nativeQuery = true)
+    int incrementLikeCountReturning(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * Valor guardado por {@link #incrementLikeCountReturning(Long, int)} na mesma conexão. Um INSERT com
+     * AUTO_INCREMENT depois dele sobrescreve o valor, por isso a leitura vem antes de gravar em likes.
+     */
+    @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+    Long lastInsertId();
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package br.com.desafioalura.forumhub.repository;
+
+import br.com.desafioalura.forumhub.model.RevokedToken;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    /**
+     * Registra a revogação se o {@code jti} ainda não estiver na tabela. A chave primária serializa revogações
+     * concorrentes do mesmo token: a segunda espera o commit da primeira e não insere nada.
+     *
+     * @return 1 se o token foi revogado por este comando; 0 se já estava revogado.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "revoked_tokens"))
+    @Query(value = "INSERT IGNORE INTO revoked_tokens (jti, expires_at, revoked_at) VALUES (:jti, :expiresAt, :revokedAt)",
+            nativeQuery = true)
+    int insertIgnore(@Param("jti") String jti, @Param("expiresAt") Instant expiresAt,
+                     @Param("revokedAt") Instant revokedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,82 @@
+package br.com.desafioalura.forumhub.search;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice invertido de um único campo com pontuação BM25. Não é thread-safe: o acesso é
+ * coordenado por {@link PostSearchIndex}.
+ */
+class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // termo -> (post -> frequência do termo no post)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // post -> (termo -> frequência), usado para remover um documento sem varrer o índice
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private final Map<Long, Integer> lengths = new HashMap<>();
+    private long totalLength;
+
+    void put(Long id, List<String> tokens) {
+        remove(id);
+        if (tokens.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, frequency));
+        documents.put(id, frequencies);
+        lengths.put(id, tokens.size());
+        totalLength += tokens.size();
+    }
+
+    void remove(Long id) {
+        Map<String, Integer> frequencies = documents.remove(id);
+        if (frequencies == null) {
+            return;
+        }
+        totalLength -= lengths.remove(id);
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            Map<Long, Integer> docs = postings.get(entry.getKey());
+            docs.remove(id);
+            if (docs.isEmpty()) {
+                postings.remove(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Soma ao acumulador a pontuação BM25 de cada post que contém algum dos termos da consulta.
+     */
+    void score(List<String> queryTerms, double boost, Map<Long, Double> scores) {
+        int documentCount = documents.size();
+        if (documentCount == 0) {
+            return;
+        }
+        double averageLength = (double) totalLength / documentCount;
+
+        for (String term : queryTerms) {
+            Map<Long, Integer> docs = postings.get(term);
+            if (docs == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (documentCount - docs.size() + 0.5) / (docs.size() + 0.5));
+            for (Map.Entry<Long, Integer> doc : docs.entrySet()) {
+                int frequency = doc.getValue();
+                int length = lengths.get(doc.getKey());
+                double tf = frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+                scores.merge(doc.getKey(), boost * idf * tf, Double::sum);
+            }
+        }
+    }
+
+    int size() {
+        return documents.size();
+    }
+}
@@ -0,0 +1,177 @@
+package br.com.desafioalura.forumhub.search;
+
+import br.com.desafioalura.forumhub.config.datasource.Workload;
+import br.com.desafioalura.forumhub.config.datasource.WorkloadPool;
+import br.com.desafioalura.forumhub.dto.PostSummaryDTO;
+import br.com.desafioalura.forumhub.repository.PostRepository;
+import br.com.desafioalura.forumhub.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido em memória sobre título e conteúdo dos posts ativos, com ranking BM25.
+ * É construído a partir do banco quando a aplicação sobe e mantido de forma incremental por
+ * {@code PostService} (criação, atualização e inativação), de modo que a busca nunca varre a tabela.
+ */
+@Component
+public class PostSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchIndex.class);
+    private static final double TITLE_BOOST = 2.0;
+    private static final double CONTENT_BOOST = 1.0;
+
+    private final PostRepository postRepository;
+    // Com outro backend de busca configurado, o índice não é construído nem mantido.
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private InvertedIndex titleIndex = new InvertedIndex();
+    private InvertedIndex contentIndex = new InvertedIndex();
+    // Alterações recebidas durante uma reconstrução, reaplicadas sobre o índice novo.
+    private List<Runnable> pendingChanges;
+    private volatile boolean ready;
+
+    public PostSearchIndex(PostRepository postRepository, @Value("${forum.search.backend:memory}") SearchBackend backend) {
+        this.postRepository = postRepository;
+        this.enabled = backend == SearchBackend.MEMORY;
+    }
+
+    /**
+     * Indica se o índice já foi carregado. Antes disso a busca deve usar o banco.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Indexa (ou reindexa) um post. Dentro de uma transação, a alteração só é aplicada após o commit.
+     */
+    public void index(Long id, String title, String content) {
+        if (!enabled) {
+            return;
+        }
+        List<String> titleTokens = SearchTokenizer.tokenize(title);
+        List<String> contentTokens = SearchTokenizer.tokenize(content);
+        AfterCommit.run(() -> apply(() -> {
+            titleIndex.put(id, titleTokens);
+            contentIndex.put(id, contentTokens);
+        }));
+    }
+
+    /**
+     * Remove um post do índice. Dentro de uma transação, a remoção só é aplicada após o commit.
+     */
+    public void remove(Long id) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> apply(() -> {
+            titleIndex.remove(id);
+            contentIndex.remove(id);
+        }));
+    }
+
+    /**
+     * Busca posts cujo título contenha termos de {@code titleQuery} ou cujo conteúdo contenha termos de
+     * {@code contentQuery}, ordenados por relevância (BM25, com peso maior para o título).
+     *
+     * @return Página de IDs de posts, na ordem de relevância.
+     */
+    public Page<Long> search(String titleQuery, String contentQuery, Pageable pageable) {
+        List<String> titleTerms = SearchTokenizer.tokenize(titleQuery).stream().distinct().toList();
+        List<String> contentTerms = SearchTokenizer.tokenize(contentQuery).stream().distinct().toList();
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            titleIndex.score(titleTerms, TITLE_BOOST, scores);
+            contentIndex.score(contentTerms, CONTENT_BOOST, scores);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> ranked = scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.<Long, Double>comparingByKey(Comparator.reverseOrder())))
+                .map(Map.Entry::getKey)
+                .toList();
+
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        return new PageImpl<>(ranked.subList(from, to), pageable, ranked.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @WorkloadPool(Workload.HEAVY)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        logger.info("Construindo índice de busca de posts.");
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        InvertedIndex titles = new InvertedIndex();
+        InvertedIndex contents = new InvertedIndex();
+        try (Stream<PostSummaryDTO> posts = postRepository.streamAllSummaries()) {
+            posts.filter(post -> Boolean.TRUE.equals(post.active())).forEach(post -> {
+                titles.put(post.id(), SearchTokenizer.tokenize(post.title()));
+                contents.put(post.id(), SearchTokenizer.tokenize(post.content()));
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            titleIndex = titles;
+            contentIndex = contents;
+            pendingChanges.forEach(Runnable::run);
+            pendingChanges = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Índice de busca construído com {} posts.", contents.size());
+    }
+
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
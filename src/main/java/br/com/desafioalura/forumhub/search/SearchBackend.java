@@ -0,0 +1,16 @@
+package br.com.desafioalura.forumhub.search;
+
+/**
+ * Mecanismo usado pela busca de posts, escolhido pela propriedade {@code forum.search.backend}.
+ */
+public enum SearchBackend {
+
+    /** Índice invertido em memória ({@link PostSearchIndex}), com ranking BM25. */
+    MEMORY,
+
+    /** Índices FULLTEXT do MySQL ({@code MATCH ... AGAINST}), ordenados por relevância. */
+    FULLTEXT,
+
+    /** {@code LIKE '%termo%'} no banco, sem ranking. */
+    LIKE
+}
@@ -0,0 +1,45 @@
+package br.com.desafioalura.forumhub.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Quebra textos em termos de busca: remove acentos (ação → acao), converte para minúsculas,
+ * separa por qualquer caractere que não seja letra ou dígito e descarta stopwords do português.
+ */
+public final class SearchTokenizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "e", "as", "os", "ao", "aos", "um", "uma", "uns", "umas",
+            "de", "da", "do", "das", "dos", "em", "na", "no", "nas", "nos",
+            "por", "pelo", "pela", "pelos", "pelas", "para", "pra", "com", "sem",
+            "que", "se", "ou", "mas", "como", "mais", "ja", "nao", "sim",
+            "eu", "voce", "ele", "ela", "isso", "isto", "esse", "essa", "este", "esta", "me", "meu", "minha");
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (token.length() >= MIN_TOKEN_LENGTH && !STOPWORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
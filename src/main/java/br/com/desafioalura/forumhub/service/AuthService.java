@@ -6,7 +6,13 @@ import br.com.desafioalura.forumhub.exception.ResourceNotFoundException;
 import br.com.desafioalura.forumhub.exception.UserAlreadyExistsException;
 import br.com.desafioalura.forumhub.model.User;
 import br.com.desafioalura.forumhub.repository.UserRepository;
+import br.com.desafioalura.forumhub.config.datasource.Workload;
+import br.com.desafioalura.forumhub.config.datasource.WorkloadPool;
+import br.com.desafioalura.forumhub.config.security.AuthenticatedUser;
 import br.com.desafioalura.forumhub.config.security.JwtTokenUtil;
+import br.com.desafioalura.forumhub.config.security.TokenRevocationList;
+import br.com.desafioalura.forumhub.config.security.VerifiedToken;
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,14 +22,15 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 @Service
+@WorkloadPool(Workload.AUTH)
 public class AuthService {
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
     private final UserRepository userRepository;
@@ -31,17 +38,20 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenUtil jwtTokenUtil;
     private final JwtUserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
 
     public AuthService(UserRepository userRepository,
                        PasswordEncoder passwordEncoder,
                        AuthenticationManager authenticationManager,
                        JwtTokenUtil jwtTokenUtil,
-                       JwtUserDetailsService userDetailsService) {
+                       JwtUserDetailsService userDetailsService,
+                       TokenRevocationList revocationList) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtTokenUtil = jwtTokenUtil;
         this.userDetailsService = userDetailsService;
+        this.revocationList = revocationList;
     }
 
     @Transactional
@@ -76,21 +86,91 @@ public class AuthService {
              throw new AuthenticationException("CREDENCIAS INVÁLIDAS", e);
          }
 
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> {
                     logger.error("Usuário com e-mail '{}' não encontrado no banco de dados após autenticação bem-sucedida. Isso indica um problema de sincronização.", email);
                     return new AuthenticationException("Erro interno: Usuário não encontrado após autenticação.");
                 });
 
-        final String token = jwtTokenUtil.generateToken(userDetails, String.valueOf(user.getRole()));
+        // O ID e a role vão no token para que as requisições seguintes não precisem consultar o usuário.
+        final String role = String.valueOf(user.getRole());
+        final String token = jwtTokenUtil.generateToken(user.getId(), user.getEmail(), role);
+        final String refreshToken = jwtTokenUtil.generateRefreshToken(user.getId(), user.getEmail(), role);
          logger.info("Autenticação bem-sucedida para o e-mail: {}", email);
 
-         return new AuthResponseDTO(email, token, user.getRole());
+         return new AuthResponseDTO(email, token, user.getRole(), refreshToken);
 
     }
 
+    /**
+     * Troca um refresh token válido por um novo par de tokens, sem verificar a senha (nenhum hash BCrypt).
+     * O refresh token usado é revogado (rotação) antes de emitir o novo par: de duas trocas concorrentes com o
+     * mesmo token, só a que gravou a revogação recebe tokens; a outra, e qualquer reapresentação, recebe 401.
+     */
+    @Transactional
+    public AuthResponseDTO refreshToken(String refreshToken) {
+        VerifiedToken verified = verifyRefreshToken(refreshToken);
+
+        JwtUserDetailsService.UserIdentity identity;
+        try {
+            // Role e status atuais vêm do cache de identidades, não das claims do token antigo.
+            identity = userDetailsService.getIdentity(verified.subject());
+        } catch (UsernameNotFoundException e) {
+            throw new AuthenticationException("REFRESH TOKEN INVÁLIDO", e);
+        }
+        if (!identity.active()) {
+            logger.warn("Refresh recusado para {}: Usuário desativado.", verified.subject());
+            throw new AuthenticationException("UTILIZADOR DESATIVADO");
+        }
+
+        if (!revocationList.revoke(verified)) {
+            logger.warn("Refresh recusado para {}: token já utilizado.", verified.subject());
+            throw new AuthenticationException("REFRESH TOKEN INVÁLIDO");
+        }
+        String role = String.valueOf(identity.role());
+        String token = jwtTokenUtil.generateToken(identity.id(), identity.email(), role);
+        String newRefreshToken = jwtTokenUtil.generateRefreshToken(identity.id(), identity.email(), role);
+        logger.info("Tokens renovados para o e-mail: {}", identity.email());
+
+        return new AuthResponseDTO(identity.email(), token, identity.role(), newRefreshToken);
+    }
+
+    /**
+     * Revoga o refresh token e, se informado e ainda válido, o token de acesso da sessão.
+     */
+    @Transactional
+    public void logout(String refreshToken, String accessToken) {
+        VerifiedToken verified = verifyRefreshToken(refreshToken);
+        revocationList.revoke(verified);
+
+        if (accessToken != null) {
+            try {
+                VerifiedToken access = jwtTokenUtil.verify(accessToken);
+                if (access.isAccessToken() && verified.subject().equals(access.subject())) {
+                    revocationList.revoke(access);
+                }
+            } catch (JWTVerificationException e) {
+                // Token de acesso já expirado ou inválido: não há o que revogar.
+            }
+        }
+        logger.info("Logout realizado para o e-mail: {}", verified.subject());
+    }
+
+    private VerifiedToken verifyRefreshToken(String refreshToken) {
+        VerifiedToken verified;
+        try {
+            verified = jwtTokenUtil.verify(refreshToken);
+        } catch (JWTVerificationException e) {
+            logger.warn("Refresh token inválido ou expirado: {}", e.getMessage());
+            throw new AuthenticationException("REFRESH TOKEN INVÁLIDO", e);
+        }
+        if (!verified.isRefreshToken() || verified.userId() == null || revocationList.isRevoked(verified.tokenId())) {
+            logger.warn("Refresh token recusado (tipo incorreto ou revogado) para: {}", verified.subject());
+            throw new AuthenticationException("REFRESH TOKEN INVÁLIDO");
+        }
+        return verified;
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
         @Transactional
         public UserUpdateDTO updateUser(Long id, @Valid UserUpdateDTO userUpdateDTO) {
@@ -104,6 +184,8 @@ public class AuthService {
             user.setRole(userUpdateDTO.role());
             user.setActive(userUpdateDTO.active());
         User updatedUser = userRepository.save(user);
+        // Role e status mudaram: a identidade em cache não pode esperar o TTL.
+        userDetailsService.evict(updatedUser.getEmail());
         logger.info("Usuário com ID {} atualizado com sucesso.", updatedUser.getId());
 
         return convertToUserDTO(updatedUser);
@@ -118,30 +200,33 @@ public class AuthService {
         ) ;
     }
 
-      public User getCurrentAuthenticatedUser() {
+    /**
+     * Usuário autenticado na requisição corrente, tal como veio nas claims do JWT (sem consulta ao banco).
+     */
+    public AuthenticatedUser getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof AuthenticatedUser principal)) {
             logger.warn("Tentativa de obter usuário autenticado sem autenticação válida.");
             throw new AccessDeniedException("Nenhum usuário autenticado no contexto de segurança.");
         }
+        return principal;
+    }
 
-        Object principal = authentication.getPrincipal();
-        String username;
-
-        if (principal instanceof UserDetails userDetails) {
-            username = userDetails.getUsername();
-        } else if (principal instanceof String) {
-            username = (String) principal;
-        } else {
-            logger.error("Tipo de principal desconhecido: {}", principal.getClass().getName());
-            throw new AccessDeniedException("Não foi possível determinar o nome de usuário autenticado.");
-        }
+    public Long getCurrentUserId() {
+        return getCurrentUser().id();
+    }
 
-        return userRepository.findByEmail(username)
+    /**
+     * Carrega a entidade do usuário autenticado. Prefira {@link #getCurrentUser()} quando bastam ID, e-mail e role.
+     */
+    public User getCurrentAuthenticatedUser() {
+        Long userId = getCurrentUserId();
+        return userRepository.findById(userId)
                 .orElseThrow(() -> {
-                    logger.error("Usuário autenticado com e-mail '{}' não encontrado no banco de dados.", username);
-                    return new ResourceNotFoundException("User", "e-mail", username);
+                    logger.error("Usuário autenticado com ID '{}' não encontrado no banco de dados.", userId);
+                    return new ResourceNotFoundException("User", "ID", userId);
                 });
     }
 }
\ No newline at end of file
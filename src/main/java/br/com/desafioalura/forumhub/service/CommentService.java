@@ -1,11 +1,14 @@
 package br.com.desafioalura.forumhub.service;
 
+import br.com.desafioalura.forumhub.cache.PostDetailCache;
+import br.com.desafioalura.forumhub.config.security.AuthenticatedUser;
 import br.com.desafioalura.forumhub.dto.CommentDTO;
 import br.com.desafioalura.forumhub.exception.ResourceNotFoundException;
 import br.com.desafioalura.forumhub.exception.UnauthorizedActionException;
 import br.com.desafioalura.forumhub.model.Comment;
 import br.com.desafioalura.forumhub.model.Post;
 import br.com.desafioalura.forumhub.model.User;
+import br.com.desafioalura.forumhub.monitoring.BusinessMetrics;
 import br.com.desafioalura.forumhub.repository.CommentRepository;
 import br.com.desafioalura.forumhub.repository.PostRepository;
 import br.com.desafioalura.forumhub.repository.UserRepository;
@@ -26,11 +29,16 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final PostDetailCache postDetailCache;
+    private final BusinessMetrics businessMetrics;
 
-    public CommentService(CommentRepository commentRepository, PostRepository postRepository, UserRepository userRepository) {
+    public CommentService(CommentRepository commentRepository, PostRepository postRepository, UserRepository userRepository,
+                          PostDetailCache postDetailCache, BusinessMetrics businessMetrics) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
         this.userRepository = userRepository;
+        this.postDetailCache = postDetailCache;
+        this.businessMetrics = businessMetrics;
     }
 
     @Transactional(readOnly = true) // Operação de leitura
@@ -40,7 +48,7 @@ public class CommentService {
             logger.warn("Tentativa de buscar comentários para post ID: {} que não existe.", postId);
             throw new ResourceNotFoundException("Post não encontrado com ID: " + postId);
         }
-        List<CommentDTO> comments = commentRepository.findByPostId(postId).stream()
+        List<CommentDTO> comments = commentRepository.findByPostIdWithUser(postId).stream()
                 .map(CommentDTO::fromEntity)
                 .collect(Collectors.toList());
         logger.info("Encontrados {} comentários para o post ID: {}", comments.size(), postId);
@@ -48,7 +56,8 @@ public class CommentService {
     }
 
     @Transactional // Operação de escrita
-    public CommentDTO addComment(Long postId, Long userId, CommentDTO request) {
+    public CommentDTO addComment(Long postId, AuthenticatedUser author, CommentDTO request) {
+        Long userId = author.id();
         logger.info("Tentativa de adicionar comentário ao post ID: {} pelo usuário ID: {}", postId, userId);
 
         Post post = postRepository.findById(postId)
@@ -56,11 +65,8 @@ public class CommentService {
                     logger.warn("Falha ao adicionar comentário: Post ID: {} não encontrado.", postId);
                     return new ResourceNotFoundException("Post não encontrado com ID: " + postId);
                 });
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    logger.warn("Falha ao adicionar comentário: Usuário ID: {} não encontrado.", userId);
-                    return new ResourceNotFoundException("Usuário não encontrado com ID: " + userId);
-                });
+        // O autor vem do JWT já verificado: basta a referência, sem consultar o usuário.
+        User user = userRepository.getReferenceById(userId);
 
         Comment comment = new Comment();
         comment.setContent(request.getContent());
@@ -69,8 +75,11 @@ public class CommentService {
         comment.setCreatedAt(LocalDateTime.now());
 
         Comment saved = commentRepository.save(comment);
+        postRepository.incrementCommentCount(postId, 1);
+        postDetailCache.evict(postId);
+        businessMetrics.commentCreated();
         logger.info("Comentário adicionado com sucesso ao post ID: {} pelo usuário ID: {}. Comentário ID: {}", postId, userId, saved.getId());
-        return CommentDTO.fromEntity(saved);
+        return new CommentDTO(saved.getId(), saved.getContent(), author.email(), saved.getCreatedAt());
     }
 
     @Transactional
@@ -83,16 +92,7 @@ public class CommentService {
                     return new ResourceNotFoundException("Comentário não encontrado com ID: " + commentId + " no post ID: " + postId);
                 });
 
-        User currentUser = userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    logger.error("Usuário ID: {} autenticado não encontrado ao tentar atualizar comentário ID: {}.", userId, commentId);
-                    return new ResourceNotFoundException("Usuário autenticado não encontrado.");
-                });
-
-        boolean isAuthor = existingComment.getUser().getId().equals(userId);
-        boolean isAdmin = currentUser.getRole() == User.Role.ADMIN; // Assumindo que User.Role é um enum
-
-        if (!isAuthor && !isAdmin) {
+        if (!canModify(existingComment, userId)) {
             logger.warn("Usuário ID: {} não tem permissão para atualizar o comentário ID: {}.", userId, commentId);
             throw new UnauthorizedActionException("Usuário não tem permissão para atualizar este comentário.");
         }
@@ -101,6 +101,7 @@ public class CommentService {
         existingComment.setUpdatedAt(LocalDateTime.now());
 
         Comment updatedComment = commentRepository.save(existingComment);
+        postDetailCache.evict(postId);
         logger.info("Comentário ID: {} atualizado com sucesso do post ID: {} pelo usuário ID: {}.", commentId, postId, userId);
         return CommentDTO.fromEntity(updatedComment);
     }
@@ -115,22 +116,19 @@ public class CommentService {
                     return new ResourceNotFoundException("Comentário não encontrado com ID: " + commentId + " no post ID: " + postId);
                 });
 
-        User currentUser = userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    logger.error("Usuário ID: {} autenticado não encontrado ao tentar deletar comentário ID: {}.", userId, commentId);
-                    return new ResourceNotFoundException("Usuário autenticado não encontrado.");
-                });
-
-        boolean isAuthor = comment.getUser().getId().equals(userId);
-        boolean isAdmin = currentUser.getRole() == User.Role.ADMIN;
-
-        if (!isAuthor && !isAdmin) {
+        if (!canModify(comment, userId)) {
             logger.warn("Usuário ID: {} não tem permissão para excluir o comentário ID: {}.", userId, commentId);
             throw new UnauthorizedActionException("Usuário não tem permissão para excluir este comentário.");
         }
 
         commentRepository.delete(comment);
+        postRepository.incrementCommentCount(postId, -1);
+        postDetailCache.evict(postId);
         logger.info("Comentário ID: {} deletado com sucesso do post ID: {} pelo usuário ID: {}.", commentId, postId, userId);
     }
-}
 
+    // O autor pode alterar o próprio comentário; a role só é consultada quando não é o autor.
+    private boolean canModify(Comment comment, Long userId) {
+        return comment.getUser().getId().equals(userId) || userRepository.existsByIdAndRole(userId, User.Role.ADMIN);
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.desafioalura.forumhub.service;
 
+import br.com.desafioalura.forumhub.cache.CourseCatalog;
 import br.com.desafioalura.forumhub.dto.CourseDTO;
 import br.com.desafioalura.forumhub.exception.CourseAlreadyExistsException;
 import br.com.desafioalura.forumhub.exception.ResourceNotFoundException;
@@ -12,24 +13,22 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class CourseService {
     private static final Logger logger = LoggerFactory.getLogger(CourseService.class);
 
     private final CourseRepository courseRepository;
+    private final CourseCatalog courseCatalog;
 
-    public CourseService(CourseRepository courseRepository) {
+    public CourseService(CourseRepository courseRepository, CourseCatalog courseCatalog) {
         this.courseRepository = courseRepository;
+        this.courseCatalog = courseCatalog;
     }
 
-    @Transactional(readOnly = true)
     public List<CourseDTO> getAllCourses() {
         logger.info("Buscando todos os cursos.");
-        List<CourseDTO> courses = courseRepository.findAll().stream()
-                .map(course -> new CourseDTO(course.getId(), course.getName()))
-                .collect(Collectors.toList());
+        List<CourseDTO> courses = courseCatalog.courses();
         logger.info("Total de {} cursos encontrados.", courses.size());
         return courses;
     }
@@ -44,14 +43,15 @@ public class CourseService {
         Course course = new Course();
         course.setName(courseDTO.name());
         Course savedCourse = courseRepository.save(course);
+        courseCatalog.invalidate();
         logger.info("Curso criado com sucesso. ID: {}, Nome: {}", savedCourse.getId(), savedCourse.getName());
         return savedCourse;
     }
 
-    @Transactional(readOnly = true) // Apenas leitura
-    public Course getCourseById(Long courseId) {
+    public CourseDTO getCourseById(Long courseId) {
         logger.info("Buscando curso por ID: {}", courseId);
-        return courseRepository.findById(courseId)
+        return courseCatalog.findName(courseId)
+                .map(name -> new CourseDTO(courseId, name))
                 .orElseThrow(() -> {
                     logger.warn("Curso com ID: {} não encontrado.", courseId);
                     return new ResourceNotFoundException("Curso", "ID", courseId);
@@ -76,6 +76,7 @@ public class CourseService {
 
         existingCourse.setName(courseDTO.name());
         Course updatedCourse = courseRepository.save(existingCourse);
+        courseCatalog.invalidate();
         logger.info("Curso ID: {} atualizado com sucesso para o nome: {}.", updatedCourse.getId(), updatedCourse.getName());
         return updatedCourse;
     }
@@ -1,27 +1,84 @@
 package br.com.desafioalura.forumhub.service;
 
+import br.com.desafioalura.forumhub.config.datasource.Workload;
+import br.com.desafioalura.forumhub.config.datasource.WorkloadPool;
 import br.com.desafioalura.forumhub.model.User;
 import br.com.desafioalura.forumhub.repository.UserRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import br.com.desafioalura.forumhub.util.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.time.Duration;
 
+/**
+ * Carrega usuários para o Spring Security a partir de um cache limitado de identidades (e-mail → ID, hash da
+ * senha, role e status), com TTL. Alterações de role ou status feitas por um admin removem a entrada na hora,
+ * via {@link #evict(String)}, para que uma desativação valha já na requisição seguinte.
+ */
 @Service
+@WorkloadPool(Workload.AUTH)
 public class JwtUserDetailsService implements UserDetailsService {
 
-    @Autowired
-    private UserRepository userRepository;
+    public static final String CACHE_NAME = "userIdentity";
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserIdentity> identities;
+
+    public JwtUserDetailsService(UserRepository userRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${forum.cache.user-identity.maximum-size:10000}") long maximumSize,
+                                 @Value("${forum.cache.user-identity.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.identities = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, identities, CACHE_NAME);
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        // O cache guarda só a identidade imutável: o UserDetails é criado a cada chamada porque o
+        // ProviderManager apaga a senha do principal depois da autenticação.
+        UserIdentity identity = getIdentity(email);
+
+        return org.springframework.security.core.userdetails.User.withUsername(identity.email())
+                .password(identity.passwordHash())
+                .authorities("ROLE_" + identity.role())
+                .disabled(!identity.active())
+                .build();
+    }
+
+    /**
+     * Identidade atual do usuário, servida pelo cache.
+     *
+     * @throws UsernameNotFoundException Se não houver usuário com o e-mail.
+     */
+    public UserIdentity getIdentity(String email) {
+        return identities.get(email, this::loadIdentity);
+    }
+
+    /**
+     * Remove a identidade do cache após o commit da transação corrente.
+     */
+    public void evict(String email) {
+        AfterCommit.run(() -> identities.invalidate(email));
+    }
+
+    private UserIdentity loadIdentity(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Utilizador não encontrado com o email: " + email));
+        return new UserIdentity(user.getId(), user.getEmail(), user.getPassword(), user.getRole(), user.isActive());
+    }
 
-        return new org.springframework.security.core.userdetails.User(user.getEmail(), user.getPassword(),
-                Collections.singletonList(new org.springframework.security.core.authority.SimpleGrantedAuthority("ROLE_" + user.getRole())));
+    public record UserIdentity(Long id, String email, String passwordHash, User.Role role, boolean active) {
     }
 }
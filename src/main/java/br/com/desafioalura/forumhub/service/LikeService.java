@@ -1,97 +1,155 @@
 package br.com.desafioalura.forumhub.service;
 
+import br.com.desafioalura.forumhub.cache.LikedPostsCache;
+import br.com.desafioalura.forumhub.cache.PostDetailCache;
+import br.com.desafioalura.forumhub.config.datasource.Workload;
+import br.com.desafioalura.forumhub.config.datasource.WorkloadPool;
 import br.com.desafioalura.forumhub.exception.ResourceNotFoundException;
-import br.com.desafioalura.forumhub.model.Like;
-import br.com.desafioalura.forumhub.model.Post;
-import br.com.desafioalura.forumhub.model.User;
+import br.com.desafioalura.forumhub.monitoring.BusinessMetrics;
 import br.com.desafioalura.forumhub.repository.LikeRepository;
 import br.com.desafioalura.forumhub.repository.PostRepository;
-import br.com.desafioalura.forumhub.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
+@WorkloadPool(Workload.WRITE)
 public class LikeService {
 
     private static final Logger logger = LoggerFactory.getLogger(LikeService.class);
 
     private final LikeRepository likeRepository;
     private final PostRepository postRepository;
-    private final UserRepository userRepository;
+    private final PostDetailCache postDetailCache;
+    private final LikedPostsCache likedPostsCache;
+    private final BusinessMetrics businessMetrics;
+    private final int maxCachedLikesPerUser;
 
     public LikeService(LikeRepository likeRepository,
                        PostRepository postRepository,
-                       UserRepository userRepository) {
+                       PostDetailCache postDetailCache,
+                       LikedPostsCache likedPostsCache,
+                       BusinessMetrics businessMetrics,
+                       @Value("${forum.cache.liked-posts.max-ids-per-user:5000}") int maxCachedLikesPerUser) {
         this.likeRepository = likeRepository;
         this.postRepository = postRepository;
-        this.userRepository = userRepository;
+        this.postDetailCache = postDetailCache;
+        this.likedPostsCache = likedPostsCache;
+        this.businessMetrics = businessMetrics;
+        this.maxCachedLikesPerUser = maxCachedLikesPerUser;
     }
 
-    @Transactional
-    public int likePost(Long postId, Long userId) {
-
-       logger.info("Tentativa de curtir post ID: {} pelo usuário ID: {}", postId, userId);
+    /**
+     * Quais dos posts informados o usuário curtiu, na ordem recebida. Servido pelo {@link LikedPostsCache};
+     * na falta, uma única consulta ao índice (user_id, post_id) carrega o conjunto do usuário.
+     * Sem transação, para que a carga nunca leia um snapshot anterior a uma curtida já confirmada.
+     */
+    @WorkloadPool(Workload.READ)
+    public Set<Long> findLikedPostIds(Long userId, Collection<Long> postIds) {
+        Set<Long> liked = new LinkedHashSet<>();
+        if (postIds.isEmpty()) {
+            return liked;
+        }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    logger.warn("Falha ao curtir post ID: {}. Usuário ID: {} não encontrado.", postId, userId);
-                    return new ResourceNotFoundException("Usuário não encontrado com ID: " + userId);
-                });
+        long[] cached = likedPostsCache.get(userId, this::loadLikedPostIds);
+        if (cached == LikedPostsCache.TOO_MANY) {
+            Set<Long> found = new HashSet<>(likeRepository.findLikedPostIds(userId, postIds));
+            postIds.stream().filter(found::contains).forEach(liked::add);
+            return liked;
+        }
+        for (Long postId : postIds) {
+            if (postId != null && LikedPostsCache.contains(cached, postId)) {
+                liked.add(postId);
+            }
+        }
+        return liked;
+    }
 
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> {
-                    logger.warn("Falha ao curtir post. Post ID: {} não encontrado.", postId);
-                    return new ResourceNotFoundException("Post não encontrado com ID: " + postId);
-                });
+    private long[] loadLikedPostIds(Long userId) {
+        List<Long> ids = likeRepository.findPostIdsByUserId(userId, PageRequest.of(0, maxCachedLikesPerUser + 1));
+        if (ids.size() > maxCachedLikesPerUser) {
+            return LikedPostsCache.TOO_MANY;
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
 
-        boolean alreadyLiked = likeRepository.existsByUserAndPost(user, post);
-        if (alreadyLiked) {
+    /**
+     * Curte o post de forma idempotente: curtir de novo não é erro e devolve o total atual.
+     * Sem carregar usuário, post ou curtida: o UPDATE do contador vem primeiro, já devolve o novo total
+     * (LAST_INSERT_ID) e trava a linha do post, de modo que curtidas simultâneas no mesmo post se enfileiram
+     * nessa trava em vez de disputar, em ordens opostas, a trava compartilhada da FK e a exclusiva do contador.
+     * Curtida nova: UPDATE, SELECT LAST_INSERT_ID() e INSERT. Curtida repetida: mais a conferência e o
+     * estorno do contador.
+     */
+    @Transactional
+    public int likePost(Long postId, Long userId) {
+        logger.info("Tentativa de curtir post ID: {} pelo usuário ID: {}", postId, userId);
+        int likesCount = applyLikeDelta(postId, 1, "curtir");
+
+        if (likeRepository.insertIgnore(userId, postId) == 0) {
+            if (!likeRepository.existsByUserIdAndPostId(userId, postId)) {
+                // O IGNORE engoliu a FK: o usuário não existe. A exceção desfaz o incremento.
+                logger.warn("Falha ao curtir post. Usuário ID: {} não encontrado.", userId);
+                throw new ResourceNotFoundException("Usuário não encontrado com ID: " + userId);
+            }
+            postRepository.incrementLikeCount(postId, -1);
             logger.info("Usuário ID: {} já havia curtido o post ID: {}. Nenhuma ação realizada.", userId, postId);
-            throw new IllegalStateException("Você já curtiu este post.");
+            return likesCount - 1;
         }
 
-        Like like = new Like();
-        like.setUser(user);
-        like.setPost(post);
-        like.setCreatedAt(LocalDateTime.now());
-
-        likeRepository.save(like);
-        int likesCount = likeRepository.countByPost(post);
+        invalidateCaches(postId, userId);
+        businessMetrics.liked();
         logger.info("Post ID: {} curtido com sucesso pelo usuário ID: {}. Total de curtidas: {}", postId, userId, likesCount);
         return likesCount;
-
     }
 
+    /**
+     * Remove a curtida de forma idempotente: descurtir um post não curtido devolve o total atual.
+     * Começa pelo UPDATE do contador, na mesma ordem de {@link #likePost(Long, Long)}.
+     */
     @Transactional
     public int unlikePost(Long postId, Long userId) {
         logger.info("Tentativa de descurtir post ID: {} pelo usuário ID: {}", postId, userId);
+        int likesCount = applyLikeDelta(postId, -1, "descurtir");
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    logger.warn("Falha ao descurtir post ID: {}. Usuário ID: {} não encontrado.", postId, userId);
-                    return new ResourceNotFoundException("Usuário não encontrado com ID: " + userId);
-                });
-
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> {
-                    logger.warn("Falha ao descurtir post. Post ID: {} não encontrado.", postId);
-                    return new ResourceNotFoundException("Post não encontrado com ID: " + postId);
-                });
-
-        Like like = likeRepository.findByUserAndPost(user, post)
-                .orElseThrow(() -> {
-                    logger.warn("Falha ao descurtir post ID: {}. Curtida do usuário ID: {} não encontrada.", postId, userId);
-                    return new ResourceNotFoundException("Você não curtiu este post ou a curtida não foi encontrada.");
-                });
-
-        likeRepository.delete(like);
-        int likesCount = likeRepository.countByPost(post);
+        if (likeRepository.deleteByUserIdAndPostId(userId, postId) == 0) {
+            postRepository.incrementLikeCount(postId, 1);
+            logger.info("Usuário ID: {} não havia curtido o post ID: {}. Nenhuma ação realizada.", userId, postId);
+            return likesCount + 1;
+        }
+
+        invalidateCaches(postId, userId);
+        businessMetrics.unliked();
         logger.info("Curtida do post ID: {} removida com sucesso pelo usuário ID: {}. Total de curtidas: {}", postId, userId, likesCount);
         return likesCount;
     }
-}
 
+    /**
+     * Aplica o delta ao contador, travando a linha do post, e devolve o novo total lido de LAST_INSERT_ID().
+     */
+    private int applyLikeDelta(Long postId, int delta, String action) {
+        if (postRepository.incrementLikeCountReturning(postId, delta) == 0) {
+            logger.warn("Falha ao {} post. Post ID: {} não encontrado.", action, postId);
+            throw new ResourceNotFoundException("Post não encontrado com ID: " + postId);
+        }
+        return postRepository.lastInsertId().intValue();
+    }
+
+    /**
+     * A remoção das entradas de cache só acontece após o commit ({@link PostDetailCache#evict(Long)} e
+     * {@link LikedPostsCache#invalidate(Long)} usam {@code AfterCommit}), assim como a métrica.
+     */
+    private void invalidateCaches(Long postId, Long userId) {
+        likedPostsCache.invalidate(userId);
+        postDetailCache.evict(postId);
+    }
+}
@@ -1,47 +1,93 @@
 package br.com.desafioalura.forumhub.service;
 
+import br.com.desafioalura.forumhub.cache.CourseCatalog;
+import br.com.desafioalura.forumhub.cache.PostDetailCache;
+import br.com.desafioalura.forumhub.config.datasource.PrimaryReads;
+import br.com.desafioalura.forumhub.config.datasource.Workload;
+import br.com.desafioalura.forumhub.config.datasource.WorkloadContext;
+import br.com.desafioalura.forumhub.config.datasource.WorkloadPool;
+import br.com.desafioalura.forumhub.config.security.AuthenticatedUser;
 import br.com.desafioalura.forumhub.dto.CommentDTO;
+import br.com.desafioalura.forumhub.dto.CursorPageDTO;
+import br.com.desafioalura.forumhub.dto.PostCursor;
 import br.com.desafioalura.forumhub.dto.PostDTO;
 import br.com.desafioalura.forumhub.dto.PostRequestDTO;
+import br.com.desafioalura.forumhub.dto.PostSummaryDTO;
 import br.com.desafioalura.forumhub.dto.PostUpdateDTO;
+import br.com.desafioalura.forumhub.exception.InvalidCursorException;
+import br.com.desafioalura.forumhub.exception.InvalidParameterException;
 import br.com.desafioalura.forumhub.exception.ResourceNotFoundException;
 import br.com.desafioalura.forumhub.exception.UnauthorizedActionException;
 import br.com.desafioalura.forumhub.model.Course;
 import br.com.desafioalura.forumhub.model.Post;
 import br.com.desafioalura.forumhub.model.User;
+import br.com.desafioalura.forumhub.monitoring.BusinessMetrics;
 import br.com.desafioalura.forumhub.repository.CourseRepository;
 import br.com.desafioalura.forumhub.repository.PostRepository;
 import br.com.desafioalura.forumhub.repository.UserRepository;
+import br.com.desafioalura.forumhub.search.PostSearchIndex;
+import br.com.desafioalura.forumhub.search.SearchBackend;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class PostService {
 
     private static final Logger logger = LoggerFactory.getLogger(PostService.class);
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    // innodb_ft_min_token_size padrão: palavras menores não entram no índice FULLTEXT.
+    private static final int FULLTEXT_MIN_TOKEN_SIZE = 3;
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}_]+");
 
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
     private final ModelMapper modelMapper;
-
-    public PostService(PostRepository postRepository, UserRepository userRepository, CourseRepository courseRepository, ModelMapper modelMapper) {
+    private final PostSearchIndex searchIndex;
+    private final SearchBackend searchBackend;
+    private final PostDetailCache postDetailCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CourseCatalog courseCatalog;
+    private final BusinessMetrics businessMetrics;
+
+    public PostService(PostRepository postRepository, UserRepository userRepository, CourseRepository courseRepository, ModelMapper modelMapper,
+                       PostSearchIndex searchIndex, @Value("${forum.search.backend:memory}") SearchBackend searchBackend,
+                       PostDetailCache postDetailCache, PlatformTransactionManager transactionManager, CourseCatalog courseCatalog,
+                       BusinessMetrics businessMetrics) {
         this.postRepository = postRepository;
         this.userRepository = userRepository;
         this.courseRepository = courseRepository;
         this.modelMapper = modelMapper;
+        this.searchIndex = searchIndex;
+        this.searchBackend = searchBackend;
+        this.postDetailCache = postDetailCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.courseCatalog = courseCatalog;
+        this.businessMetrics = businessMetrics;
     }
 
     @Transactional(readOnly = true)
@@ -50,34 +96,110 @@ public class PostService {
             pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("createdAt").descending());
         }
         logger.info("Buscando posts ativos com paginação: {}", pageable);
-        Page<Post> posts = postRepository.findAllByActiveTrue(pageable);
-        return posts.map(this::mapToPostDTOWithDetails);
+        return hydratePage(postRepository.findActiveIds(pageable));
     }
 
+    /**
+     * Retorna uma página do feed de posts ativos navegada por cursor (keyset), ordenada por
+     * data de criação e ID decrescentes. Diferente da paginação por OFFSET, o custo de cada
+     * página é o mesmo independentemente da profundidade.
+     *
+     * @param cursor Cursor opaco devolvido pela página anterior, ou {@code null} para a primeira página.
+     * @param size   Quantidade de posts por página (limitada a {@value #MAX_CURSOR_PAGE_SIZE}).
+     * @return A página de posts e o cursor da próxima página, se houver.
+     * @throws InvalidCursorException Se o cursor for inválido.
+     */
     @Transactional(readOnly = true)
+    public CursorPageDTO<PostDTO> getActivePostsByCursor(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+        logger.info("Buscando posts ativos por cursor: '{}', tamanho: {}", cursor, pageSize);
+
+        List<PostSummaryDTO> posts;
+        if (cursor == null || cursor.isBlank()) {
+            posts = postRepository.findActiveFeed(limit);
+        } else {
+            PostCursor position = PostCursor.decode(cursor);
+            posts = postRepository.findActiveFeedAfter(position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasNext = posts.size() > pageSize;
+        List<PostDTO> page = (hasNext ? posts.subList(0, pageSize) : posts).stream()
+                .map(PostDTO::fromSummary)
+                .toList();
+        String next = hasNext ? PostCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new CursorPageDTO<>(page, next);
+    }
+
+    /**
+     * Detalhe do post, servido pelo {@link PostDetailCache}. Em caso de falta, a carga abre sua própria
+     * transação somente leitura, sempre no primário: o resultado é compartilhado por todos os usuários.
+     * Um acerto não toca no banco nem abre transação.
+     */
     public PostDTO getPostByIdWithDetails(Long id) {
         logger.info("Buscando post por ID com detalhes: {}", id);
-        Post post = postRepository.findByIdAndActiveTrue(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Post não encontrado com ID: " + id));
-        return mapToPostDTOWithDetails(post);
+        PostDTO post = postDetailCache.get(id, this::loadPostWithDetails);
+        // O nome do curso vem do catálogo atual, e não da entrada em cache: renomear um curso não precisa
+        // remover os detalhes de todos os posts dele.
+        post.setCourseName(courseCatalog.findName(post.getCourseId()).orElse(null));
+        return post;
+    }
+
+    private PostDTO loadPostWithDetails(Long id) {
+        return PrimaryReads.call(() -> readOnlyTransaction.execute(status -> {
+            Post post = postRepository.findActiveByIdWithComments(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Post não encontrado com ID: " + id));
+            return mapToPostDTOWithDetails(post);
+        }));
     }
 
     @Transactional(readOnly = true)
     public Page<PostDTO> searchPostsByTitleOrContent(String title, String content, Pageable pageable) {
-        Page<Post> posts;
+        Page<Long> postIds;
         logger.info("Buscando posts por título: '{}' ou conteúdo: '{}'", title, content);
 
-        if (title != null && !title.trim().isEmpty() && content != null && !content.trim().isEmpty()) {
-            posts = postRepository.findByTitleContainingIgnoreCaseOrContentContainingIgnoreCaseAndActiveTrue(title, content, pageable);
-        } else if (title != null && !title.trim().isEmpty()) {
-            posts = postRepository.findByTitleContainingIgnoreCaseAndActiveTrue(title, pageable);
-        } else if (content != null && !content.trim().isEmpty()) {
-            posts = postRepository.findByContentContainingIgnoreCaseAndActiveTrue(content, pageable);
-        } else {
+        boolean hasTitle = title != null && !title.trim().isEmpty();
+        boolean hasContent = content != null && !content.trim().isEmpty();
+        if (!hasTitle && !hasContent) {
             logger.warn("Tentativa de busca de post sem título ou conteúdo fornecido.");
-            throw new IllegalArgumentException("Você deve fornecer pelo menos 'title' ou 'content' para a busca.");
+            throw new InvalidParameterException("Você deve fornecer pelo menos 'title' ou 'content' para a busca.");
+        }
+
+        if (searchBackend == SearchBackend.FULLTEXT && hasFulltextTerm(title, content)) {
+            // A ordem é a relevância calculada pelo MySQL; o Sort da requisição não se aplica.
+            Pageable byRelevance = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+            if (hasTitle && hasContent) {
+                postIds = postRepository.findActiveIdsByTitleOrContentMatching(title + " " + content, byRelevance);
+            } else if (hasTitle) {
+                postIds = postRepository.findActiveIdsByTitleMatching(title, byRelevance);
+            } else {
+                postIds = postRepository.findActiveIdsByContentMatching(content, byRelevance);
+            }
+        } else if (searchBackend == SearchBackend.MEMORY && searchIndex.isReady()) {
+            postIds = searchIndex.search(hasTitle ? title : null, hasContent ? content : null, pageable);
+        } else {
+            // Backend LIKE, índice em memória ainda em construção ou busca FULLTEXT só com termos curtos demais
+            // para o índice (MATCH não acharia nada): a varredura vai ao pool pesado.
+            postIds = WorkloadContext.call(Workload.HEAVY, () -> findIdsByLike(
+                    hasTitle ? title : null, hasContent ? content : null, pageable));
         }
-        return posts.map(this::mapToPostDTOWithDetails);
+        return hydratePage(postIds);
+    }
+
+    private static boolean hasFulltextTerm(String... fields) {
+        return Stream.of(fields)
+                .filter(Objects::nonNull)
+                .flatMap(TERM_SEPARATOR::splitAsStream)
+                .anyMatch(term -> term.length() >= FULLTEXT_MIN_TOKEN_SIZE);
+    }
+
+    private Page<Long> findIdsByLike(String title, String content, Pageable pageable) {
+        if (title != null && content != null) {
+            return postRepository.findActiveIdsByTitleOrContentContaining(title, content, pageable);
+        } else if (title != null) {
+            return postRepository.findActiveIdsByTitleContaining(title, pageable);
+        }
+        return postRepository.findActiveIdsByContentContaining(content, pageable);
     }
 
     @Transactional(readOnly = true)
@@ -86,8 +208,7 @@ public class PostService {
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("Usuário não encontrado com ID: " + userId);
         }
-        return postRepository.findByUserIdAndActiveTrue(userId, pageable)
-                .map(this::mapToPostDTOWithDetails);
+        return hydratePage(postRepository.findActiveIdsByUserId(userId, pageable));
     }
 
     /**
@@ -101,21 +222,19 @@ public class PostService {
     @Transactional(readOnly = true)
     public Page<PostDTO> getPostsByCourse(Long courseId, Pageable pageable) {
         logger.info("Buscando posts por curso com ID: {}", courseId);
-        if (!courseRepository.existsById(courseId)) {
+        if (!courseCatalog.exists(courseId)) {
             throw new ResourceNotFoundException("Curso não encontrado com ID: " + courseId);
         }
-        return postRepository.findByCourseIdAndActiveTrue(courseId, pageable)
-                .map(this::mapToPostDTOWithDetails);
+        return hydratePage(postRepository.findActiveIdsByCourseId(courseId, pageable));
     }
 
     @Transactional
-    public PostDTO createPost(PostRequestDTO dto, Long userId) {
-        logger.info("Tentativa de criar post para usuário ID: {}", userId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + userId));
+    public PostDTO createPost(PostRequestDTO dto, AuthenticatedUser author) {
+        logger.info("Tentativa de criar post para usuário ID: {}", author.id());
+        // O autor vem do JWT já verificado: basta a referência, sem consultar o usuário.
+        User user = userRepository.getReferenceById(author.id());
 
-        Course course = courseRepository.findById(dto.courseId())
-                .orElseThrow(() -> new ResourceNotFoundException("Curso não encontrado com ID: " + dto.courseId()));
+        Course course = resolveCourse(dto.courseId(), "Curso não encontrado com ID: ");
 
         Post post = new Post();
         post.setTitle(dto.title());
@@ -126,8 +245,21 @@ public class PostService {
         post.setActive(true);
 
         Post saved = postRepository.save(post);
+        searchIndex.index(saved.getId(), saved.getTitle(), saved.getContent());
+        businessMetrics.postCreated();
         logger.info("Post criado com sucesso. ID: {}", saved.getId());
-        return mapToPostDTOWithDetails(saved);
+        return PostDTO.builder()
+                .id(saved.getId())
+                .title(saved.getTitle())
+                .content(saved.getContent())
+                .createdAt(saved.getCreatedAt())
+                .updatedAt(saved.getUpdatedAt())
+                .active(saved.isActive())
+                .userEmail(author.email())
+                .courseId(dto.courseId())
+                .courseName(courseCatalog.findName(dto.courseId()).orElse(null))
+                .comments(List.of())
+                .build();
     }
 
     @Transactional
@@ -136,10 +268,7 @@ public class PostService {
         Post existingPost = postRepository.findById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Post não encontrado com ID: " + postId));
 
-        User currentUser = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + currentUserId));
-
-        if (!existingPost.getUser().getId().equals(currentUser.getId()) && currentUser.getRole() != User.Role.ADMIN) {
+        if (!canModify(existingPost, currentUserId)) {
             logger.warn("Usuário ID: {} tentou atualizar post ID: {} sem permissão.", currentUserId, postId);
             throw new UnauthorizedActionException("Você não tem permissão para editar este post.");
         }
@@ -147,14 +276,18 @@ public class PostService {
            modelMapper.map(dto, existingPost);
 
         if (dto.courseId() != null && !dto.courseId().equals(existingPost.getCourse().getId())) {
-            Course newCourse = courseRepository.findById(dto.courseId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Novo curso não encontrado com ID: " + dto.courseId()));
-            existingPost.setCourse(newCourse);
+            existingPost.setCourse(resolveCourse(dto.courseId(), "Novo curso não encontrado com ID: "));
         }
 
         existingPost.setUpdatedAt(LocalDateTime.now());
 
         Post updated = postRepository.save(existingPost);
+        if (updated.isActive()) {
+            searchIndex.index(updated.getId(), updated.getTitle(), updated.getContent());
+        } else {
+            searchIndex.remove(updated.getId());
+        }
+        postDetailCache.evict(updated.getId());
         logger.info("Post ID: {} atualizado com sucesso.", updated.getId());
         return mapToPostDTOWithDetails(updated);
     }
@@ -165,26 +298,65 @@ public class PostService {
         Post existingPost = postRepository.findByIdAndActiveTrue(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post não encontrado com ID: " + id + " ou já inativo."));
 
-        User currentUser = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + currentUserId));
-
-        if (!existingPost.getUser().getId().equals(currentUser.getId()) && currentUser.getRole() != User.Role.ADMIN) {
+        if (!canModify(existingPost, currentUserId)) {
             logger.warn("Usuário ID: {} tentou deletar post ID: {} sem permissão.", currentUserId, id);
             throw new UnauthorizedActionException("Você não tem permissão para deletar este post.");
         }
 
         existingPost.setActive(false);
         postRepository.save(existingPost);
+        searchIndex.remove(id);
+        postDetailCache.evict(id);
         logger.info("Post ID: {} deletado (inativado) com sucesso.", id);
     }
 
-    private PostDTO mapToPostDTOWithDetails(Post post) {
+    /**
+     * Projeta uma página de IDs em DTOs de listagem com uma única consulta, que seleciona apenas
+     * as colunas necessárias e calcula as contagens de curtidas e comentários no SQL.
+     */
+    private Page<PostDTO> hydratePage(Page<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), postIds.getPageable(), postIds.getTotalElements());
+        }
+        Map<Long, PostSummaryDTO> summariesById = postRepository.findSummariesByIdIn(postIds.getContent()).stream()
+                .collect(Collectors.toMap(PostSummaryDTO::id, Function.identity()));
+        List<PostDTO> posts = postIds.getContent().stream()
+                .map(summariesById::get)
+                .filter(Objects::nonNull)
+                .map(PostDTO::fromSummary)
+                .toList();
+        return new PageImpl<>(posts, postIds.getPageable(), postIds.getTotalElements());
+    }
+
+    /**
+     * O autor pode alterar o próprio post; a role só é consultada (no banco, não no token) quando não é o autor.
+     */
+    private boolean canModify(Post post, Long userId) {
+        return post.getUser().getId().equals(userId) || userRepository.existsByIdAndRole(userId, User.Role.ADMIN);
+    }
+
+    /**
+     * Valida o curso pelo {@link CourseCatalog} e devolve uma referência sem carregá-lo do banco.
+     */
+    private Course resolveCourse(Long courseId, String notFoundMessage) {
+        if (!courseCatalog.exists(courseId)) {
+            throw new ResourceNotFoundException(notFoundMessage + courseId);
+        }
+        return courseRepository.getReferenceById(courseId);
+    }
+
+    private PostDTO toPostDTO(Post post) {
         PostDTO postDTO = modelMapper.map(post, PostDTO.class);
+        postDTO.setCourseName(courseCatalog.findName(postDTO.getCourseId()).orElse(null));
+        return postDTO;
+    }
+
+    private PostDTO mapToPostDTOWithDetails(Post post) {
+        PostDTO postDTO = toPostDTO(post);
 
         postDTO.setUserEmail(post.getUser() != null ? post.getUser().getEmail() : null);
-        postDTO.setLikesCount(post.getLikes() != null ? post.getLikes().size() : 0);
-        postDTO.setCourseId(post.getCourse() != null ? post.getCourse().getId() : null);
-        postDTO.setCourseName(post.getCourse() != null ? post.getCourse().getName() : null);
+        postDTO.setLikesCount(post.getLikeCount());
+        postDTO.setCommentsCount(post.getCommentCount());
 
         postDTO.setComments(post.getComments() != null ?
                 post.getComments().stream()
@@ -198,6 +370,7 @@ public class PostService {
         return postDTO;
     }
 
+    @WorkloadPool(Workload.HEAVY)
     public List<PostDTO> getAllPost() {
         return postRepository.findAll().stream()
                 .map(post -> new PostDTO(
@@ -208,7 +381,8 @@ public class PostService {
                         post.getUpdatedAt(),
                         post.isActive(),
                         post.getUser() != null ? post.getUser().getEmail() : null,
-                        post.getLikes() != null ? post.getLikes().size() : 0,
+                        post.getLikeCount(),
+                        post.getCommentCount(),
                         post.getCourse() != null ? post.getCourse().getId() : null,
                         post.getCourse() != null ? post.getCourse().getName() : null,
                         post.getComments() != null ?
@@ -222,18 +396,36 @@ public class PostService {
                 .toList();
     }
 
+    /**
+     * Exporta todos os posts entregando um a um ao consumidor, à medida que são lidos do banco.
+     * O uso de memória não cresce com o tamanho da tabela; cada post traz as contagens de
+     * curtidas e comentários em vez da lista de comentários.
+     *
+     * @param sink Consumidor chamado para cada post, na ordem de ID.
+     */
+    @WorkloadPool(Workload.HEAVY)
+    @Transactional(readOnly = true)
+    public void exportAllPosts(Consumer<PostDTO> sink) {
+        logger.info("Exportando todos os posts em streaming.");
+        try (Stream<PostSummaryDTO> posts = postRepository.streamAllSummaries()) {
+            posts.map(PostDTO::fromSummary).forEach(sink);
+        }
+    }
+
+    @WorkloadPool(Workload.HEAVY)
     public List<PostDTO> getAllWithDetails() {
         return postRepository.findAllWithDetails().stream()
-                .map(post -> modelMapper.map(post, PostDTO.class))
+                .map(this::toPostDTO)
                 .toList();
     }
 
     public PostDTO getByIdWithDetails(Long id) {
         return postRepository.findByIdWithDetails(id)
-                .map(post -> modelMapper.map(post, PostDTO.class))
+                .map(this::toPostDTO)
                 .orElseThrow(() -> new ResourceNotFoundException("Post não encontrado com ID: " + id));
     }
 
+    @WorkloadPool(Workload.HEAVY)
     public List<Post> findAllByActiveTrueOrderByCreatedDateDesc() {
         return postRepository.findAllByActiveTrueOrderByCreatedAtDesc();
     }
@@ -241,37 +433,8 @@ public class PostService {
     @Transactional(readOnly = true)
     public List<PostDTO> findAllByActiveTrue(Pageable pageable) {
         if (pageable.getSort().isUnsorted()) {
-            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("createdDate").descending());
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("createdAt").descending());
         }
-
-        Page<Post> posts = postRepository.findAllByActiveTrue(pageable);
-        return posts.stream()
-                .map(this::convertToPostResponse)
-                .collect(Collectors.toList());
-    }
-
-    private PostDTO convertToPostResponse(Post post) {
-        PostDTO pr = new PostDTO();
-        pr.setId(post.getId());
-        pr.setTitle(post.getTitle());
-        pr.setContent(post.getContent());
-        pr.setCreatedAt(post.getCreatedAt());
-        pr.setUpdatedAt(post.getUpdatedAt()); // Adicione o updateAt
-        pr.setActive(post.isActive());     // Adicione o active
-        pr.setUserEmail(post.getUser() != null ? post.getUser().getEmail() : null); // Verifica null
-        pr.setLikesCount(post.getLikes() != null ? post.getLikes().size() : 0);
-        pr.setCourseId(post.getCourse() != null ? post.getCourse().getId() : null); // Verifica null
-        pr.setCourseName(post.getCourse() != null ? post.getCourse().getName() : null); // Verifica null
-
-        pr.setComments(post.getComments() != null ? post.getComments().stream().map(comment -> {
-            CommentDTO cr = new CommentDTO();
-            cr.setId(comment.getId());
-            cr.setContent(comment.getContent());
-            cr.setCreatedAt(comment.getCreatedAt());
-            cr.setUserEmail(comment.getUser() != null ? comment.getUser().getEmail() : null);
-            return cr;
-        }).collect(Collectors.toList()) : List.of());
-
-        return pr;
+        return hydratePage(postRepository.findActiveIds(pageable)).getContent();
     }
 }
\ No newline at end of file
@@ -0,0 +1,4 @@
+-- Índice composto que sustenta a paginação por cursor do feed de posts ativos
+-- (ORDER BY created_at DESC, id DESC). Cada página vira uma busca por faixa no índice,
+-- com o mesmo custo na primeira página e na página 10.000.
+CREATE INDEX idx_posts_created_at_id ON posts (created_at, id);
@@ -0,0 +1,9 @@
+-- Contadores denormalizados de curtidas e comentários, mantidos por incrementos atômicos
+-- em LikeService e CommentService. As leituras deixam de contar linhas em likes/comments.
+ALTER TABLE posts
+    ADD COLUMN like_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN comment_count INT NOT NULL DEFAULT 0;
+
+UPDATE posts p
+SET p.like_count    = (SELECT COUNT(*) FROM likes l WHERE l.post_id = p.id),
+    p.comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id);
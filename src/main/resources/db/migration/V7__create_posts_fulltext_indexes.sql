@@ -0,0 +1,6 @@
+-- Índices FULLTEXT para a busca de posts por relevância (forum.search.backend=fulltext).
+-- MATCH exige um índice com exatamente as colunas consultadas, por isso há um índice por campo
+-- e um composto para buscas em título e conteúdo ao mesmo tempo.
+CREATE FULLTEXT INDEX ft_posts_title ON posts (title);
+CREATE FULLTEXT INDEX ft_posts_content ON posts (content);
+CREATE FULLTEXT INDEX ft_posts_title_content ON posts (title, content);
@@ -0,0 +1,8 @@
+-- Tokens JWT revogados (logout e rotação de refresh), identificados pelo jti. Carregados em memória na
+-- inicialização por TokenRevocationList; linhas de tokens já expirados são removidas nessa carga.
+CREATE TABLE revoked_tokens (
+    jti VARCHAR(36) NOT NULL PRIMARY KEY,
+    expires_at DATETIME(6) NOT NULL,
+    revoked_at DATETIME(6) NOT NULL,
+    INDEX idx_revoked_tokens_expires_at (expires_at)
+);
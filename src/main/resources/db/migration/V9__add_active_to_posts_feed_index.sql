@@ -0,0 +1,17 @@
+-- O feed filtra por active = true antes de ordenar por (created_at DESC, id DESC). Com o filtro na frente
+-- do índice, a paginação por cursor é uma busca por faixa só sobre posts ativos, sem descartar os inativos
+-- linha a linha.
+
+-- A coluna active nunca foi criada pelas migrações anteriores; bancos montados só com elas não a têm.
+SET @add_active = (
+    SELECT IF(COUNT(*) = 0, 'ALTER TABLE posts ADD COLUMN active BIT(1) NOT NULL DEFAULT 1', 'DO 0')
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'posts' AND column_name = 'active'
+);
+PREPARE add_active FROM @add_active;
+EXECUTE add_active;
+DEALLOCATE PREPARE add_active;
+
+-- O índice novo é criado antes de remover o da V5, para o feed nunca ficar sem índice.
+CREATE INDEX idx_posts_active_created_at_id ON posts (active, created_at, id);
+DROP INDEX idx_posts_created_at_id ON posts;
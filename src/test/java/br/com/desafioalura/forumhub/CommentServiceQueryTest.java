@@ -0,0 +1,71 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.desafioalura.forumhub.cache.PostDetailCache;
+import br.com.desafioalura.forumhub.dto.CommentDTO;
+import br.com.desafioalura.forumhub.model.Comment;
+import br.com.desafioalura.forumhub.model.Course;
+import br.com.desafioalura.forumhub.model.Post;
+import br.com.desafioalura.forumhub.model.User;
+import br.com.desafioalura.forumhub.monitoring.BusinessMetrics;
+import br.com.desafioalura.forumhub.service.CommentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Orçamento de comandos da listagem de comentários: deve ficar constante com o número de autores.
+ */
+@Import({CommentService.class, PostDetailCache.class, SimpleMeterRegistry.class, BusinessMetrics.class})
+class CommentServiceQueryTest extends AbstractMySQLJpaTest {
+
+    // existsById do post + comentários com autores
+    private static final int MAX_STATEMENTS = 2;
+    private static final int AUTHORS = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Test
+    @DisplayName("Comentários de vários autores devem ser lidos sem uma consulta por autor")
+    void getCommentsByPostId_loadsAuthorsInTheSameQuery() {
+        User author = entityManager.persist(TestFixtures.user("autor@example.com"));
+        Course course = entityManager.persist(TestFixtures.course("Java"));
+        Post post = entityManager.persist(TestFixtures.post(author, course, "Post"));
+        for (int i = 0; i < AUTHORS; i++) {
+            Comment comment = new Comment();
+            comment.setContent("Comentário " + i);
+            comment.setUser(entityManager.persist(TestFixtures.user("leitor" + i + "@example.com")));
+            comment.setPost(post);
+            comment.setCreatedAt(LocalDateTime.now());
+            entityManager.persist(comment);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<CommentDTO> comments = commentService.getCommentsByPostId(post.getId());
+
+        assertThat(comments).hasSize(AUTHORS).allSatisfy(comment -> assertThat(comment.getUserEmail()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+
+}
@@ -0,0 +1,126 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import br.com.desafioalura.forumhub.cache.CourseCatalog;
+import br.com.desafioalura.forumhub.cache.PostDetailCache;
+import br.com.desafioalura.forumhub.config.ModelMapperConfig;
+import br.com.desafioalura.forumhub.dto.CourseDTO;
+import br.com.desafioalura.forumhub.model.Course;
+import br.com.desafioalura.forumhub.model.Post;
+import br.com.desafioalura.forumhub.monitoring.BusinessMetrics;
+import br.com.desafioalura.forumhub.repository.CourseRepository;
+import br.com.desafioalura.forumhub.repository.PostRepository;
+import br.com.desafioalura.forumhub.repository.UserRepository;
+import br.com.desafioalura.forumhub.search.PostSearchIndex;
+import br.com.desafioalura.forumhub.search.SearchBackend;
+import br.com.desafioalura.forumhub.service.PostService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+class CourseCatalogTest {
+
+    private CourseRepository courseRepository;
+    private CourseCatalog catalog;
+    private AtomicReference<List<Course>> courses;
+
+    @BeforeEach
+    void setUp() {
+        courses = new AtomicReference<>(List.of(TestFixtures.course(1L, "Java"), TestFixtures.course(2L, "Spring Boot")));
+        courseRepository = mock(CourseRepository.class);
+        when(courseRepository.findAll(any(Sort.class))).thenAnswer(invocation -> courses.get());
+        catalog = new CourseCatalog(courseRepository);
+    }
+
+    @Test
+    @DisplayName("Catálogo deve ser carregado uma vez e servir as leituras seguintes da memória")
+    void courses_loadsOnce() {
+        assertThat(catalog.courses()).containsExactly(new CourseDTO(1L, "Java"), new CourseDTO(2L, "Spring Boot"));
+        assertThat(catalog.findName(2L)).contains("Spring Boot");
+        assertThat(catalog.exists(3L)).isFalse();
+
+        verify(courseRepository, times(1)).findAll(any(Sort.class));
+    }
+
+    @Test
+    @DisplayName("Leitores concorrentes durante uma recarga devem receber o snapshot novo, com uma única consulta")
+    void invalidate_concurrentReadersShareOneReload() throws Exception {
+        catalog.courses();
+        CountDownLatch reloadStarted = new CountDownLatch(1);
+        CountDownLatch releaseReload = new CountDownLatch(1);
+        courses.set(List.of(TestFixtures.course(1L, "Java 21")));
+        doAnswer(invocation -> {
+            reloadStarted.countDown();
+            releaseReload.await(5, TimeUnit.SECONDS);
+            return courses.get();
+        }).when(courseRepository).findAll(any(Sort.class));
+        catalog.invalidate();
+
+        int readers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        try {
+            List<Future<Optional<String>>> names = new ArrayList<>();
+            for (int i = 0; i < readers; i++) {
+                names.add(executor.submit(() -> catalog.findName(1L)));
+            }
+            assertThat(reloadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            releaseReload.countDown();
+
+            for (Future<Optional<String>> name : names) {
+                assertThat(name.get(5, TimeUnit.SECONDS)).contains("Java 21");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(catalog.exists(2L)).isFalse();
+        verify(courseRepository, times(2)).findAll(any(Sort.class));
+    }
+
+    @Test
+    @DisplayName("Renomear um curso deve refletir no detalhe de post já guardado em cache")
+    void rename_reachesCachedPostDetail() {
+        PostRepository postRepository = mock(PostRepository.class);
+        Post post = post(10L, courses.get().get(0));
+        when(postRepository.findActiveByIdWithComments(10L)).thenReturn(Optional.of(post));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PostService postService = new PostService(postRepository, mock(UserRepository.class), courseRepository,
+                new ModelMapperConfig().modelMapper(false), mock(PostSearchIndex.class), SearchBackend.MEMORY,
+                new PostDetailCache(meterRegistry, 100, Duration.ofMinutes(10), Duration.ofSeconds(5)),
+                mock(PlatformTransactionManager.class), catalog, new BusinessMetrics(meterRegistry));
+
+        assertThat(postService.getPostByIdWithDetails(10L).getCourseName()).isEqualTo("Java");
+
+        courses.set(List.of(TestFixtures.course(1L, "Java 21"), TestFixtures.course(2L, "Spring Boot")));
+        catalog.invalidate(); // o que CourseService.updateCourse faz após o commit
+
+        assertThat(postService.getPostByIdWithDetails(10L).getCourseName()).isEqualTo("Java 21");
+        verify(postRepository, times(1)).findActiveByIdWithComments(10L);
+    }
+
+    private static Post post(Long id, Course course) {
+        Post post = TestFixtures.post(TestFixtures.user(1L, "autor@example.com"), course, "Post " + id);
+        post.setId(id);
+        return post;
+    }
+}
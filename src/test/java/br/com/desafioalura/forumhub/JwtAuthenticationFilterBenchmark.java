@@ -0,0 +1,110 @@
+package br.com.desafioalura.forumhub;
+
+import br.com.desafioalura.forumhub.config.security.JwtAuthenticationFilter;
+import br.com.desafioalura.forumhub.config.security.JwtTokenUtil;
+import br.com.desafioalura.forumhub.config.security.TokenRevocationList;
+import br.com.desafioalura.forumhub.config.security.VerifiedToken;
+import br.com.desafioalura.forumhub.repository.RevokedTokenRepository;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark do caminho quente de autenticação: o filtro JWT com o cache de tokens verificados,
+ * comparado à verificação única sem cache e às quatro verificações (com um JWTVerifier novo a cada uma)
+ * que o filtro fazia antes.
+ *
+ * <p>Não roda com os testes; execute a partir da IDE ou com
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=br.com.desafioalura.forumhub.JwtAuthenticationFilterBenchmark}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "JWT123456789012345678901234567890";
+
+    private JwtTokenUtil jwtTokenUtil;
+    private JwtAuthenticationFilter filter;
+    private Algorithm algorithm;
+    private String token;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        jwtTokenUtil = new JwtTokenUtil(SECRET, 10_000, Duration.ofMinutes(15), Duration.ofDays(7), meterRegistry);
+        TokenRevocationList revocationList = new TokenRevocationList(
+                Mockito.mock(RevokedTokenRepository.class), 100_000, 0.01, meterRegistry);
+        UserDetails user = User.withUsername("autor@example.com").password("senha").roles("USER").build();
+        filter = new JwtAuthenticationFilter(jwtTokenUtil, username -> user, revocationList);
+        algorithm = Algorithm.HMAC512(SECRET);
+        token = jwtTokenUtil.generateToken(1L, "autor@example.com", "USER");
+
+        request = new MockHttpServletRequest("GET", "/forum/posts/1");
+        request.addHeader("Authorization", "Bearer " + token);
+    }
+
+    @Benchmark
+    public Object filterWithVerifiedTokenCache() throws Exception {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public VerifiedToken cachedVerification() {
+        return jwtTokenUtil.verify(token);
+    }
+
+    @Benchmark
+    public DecodedJWT singleVerificationWithoutCache() {
+        return JWT.require(algorithm).build().verify(token);
+    }
+
+    // Caminho anterior à introdução de verify(): e-mail, role, subject e expiração decodificavam o token
+    // separadamente, uma verificação completa para cada claim lida pelo filtro.
+    @Benchmark
+    public List<Object> legacyFourVerifications() {
+        return List.of(
+                JWT.require(algorithm).build().verify(token).getSubject(),
+                JWT.require(algorithm).build().verify(token).getClaim("role").asString(),
+                JWT.require(algorithm).build().verify(token).getSubject(),
+                JWT.require(algorithm).build().verify(token).getExpiresAt());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import br.com.desafioalura.forumhub.config.security.AuthenticatedUser;
+import br.com.desafioalura.forumhub.config.security.JwtAuthenticationFilter;
+import br.com.desafioalura.forumhub.config.security.JwtTokenUtil;
+import br.com.desafioalura.forumhub.config.security.TokenRevocationList;
+import br.com.desafioalura.forumhub.model.User;
+import br.com.desafioalura.forumhub.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "JWT123456789012345678901234567890";
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Role do principal deve vir da identidade atual, a mesma das authorities, e não da claim do token")
+    void demotedUser_principalRoleMatchesAuthorities() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(SECRET, 100, Duration.ofMinutes(15), Duration.ofDays(7), meterRegistry);
+        TokenRevocationList revocationList = new TokenRevocationList(
+                mock(RevokedTokenRepository.class), 1000, 0.01, meterRegistry);
+        // Token emitido quando o usuário era ADMIN; a identidade em cache já reflete o rebaixamento.
+        UserDetails demoted = org.springframework.security.core.userdetails.User.withUsername("autor@example.com")
+                .password("senha-codificada").roles("USER").build();
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtTokenUtil, username -> demoted, revocationList);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/forum/posts/1");
+        request.addHeader("Authorization", "Bearer " + jwtTokenUtil.generateToken(1L, "autor@example.com", "ADMIN"));
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+        assertThat(((AuthenticatedUser) authentication.getPrincipal()).role()).isEqualTo(User.Role.USER);
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.desafioalura.forumhub.config.security.JwtTokenUtil;
+import br.com.desafioalura.forumhub.config.security.VerifiedToken;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+class JwtTokenUtilTest {
+
+    private static final String SECRET = "JWT123456789012345678901234567890";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenUtil jwtTokenUtil;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtTokenUtil = new JwtTokenUtil(SECRET, 100, Duration.ofMinutes(15), Duration.ofDays(7), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Token válido deve ser verificado uma vez e depois servido pelo cache")
+    void verify_cachesVerifiedClaims() {
+        String token = jwtTokenUtil.generateToken(1L, "autor@example.com", "ADMIN");
+
+        VerifiedToken first = jwtTokenUtil.verify(token);
+        VerifiedToken second = jwtTokenUtil.verify(token);
+
+        assertThat(first.subject()).isEqualTo("autor@example.com");
+        assertThat(first.userId()).isEqualTo(1L);
+        assertThat(first.role()).isEqualTo("ADMIN");
+        assertThat(first.isAccessToken()).isTrue();
+        assertThat(first.tokenId()).isNotBlank();
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", JwtTokenUtil.VERIFIED_CACHE_NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Verificações devem ser medidas por resultado: assinatura, cache ou rejeição")
+    void verify_recordsTimerByResult() {
+        String token = jwtTokenUtil.generateToken(1L, "autor@example.com", "USER");
+
+        jwtTokenUtil.verify(token);
+        jwtTokenUtil.verify(token);
+        assertThatThrownBy(() -> jwtTokenUtil.verify("invalido")).isInstanceOf(JWTVerificationException.class);
+
+        assertThat(meterRegistry.get("forum.jwt.verification").tag("result", "verified").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("forum.jwt.verification").tag("result", "cached").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("forum.jwt.verification").tag("result", "rejected").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Refresh token deve ser identificado pelo tipo e ter jti próprio")
+    void generateRefreshToken_isTypedAsRefresh() {
+        VerifiedToken access = jwtTokenUtil.verify(jwtTokenUtil.generateToken(1L, "autor@example.com", "USER"));
+        VerifiedToken refresh = jwtTokenUtil.verify(jwtTokenUtil.generateRefreshToken(1L, "autor@example.com", "USER"));
+
+        assertThat(refresh.isRefreshToken()).isTrue();
+        assertThat(refresh.isAccessToken()).isFalse();
+        assertThat(refresh.tokenId()).isNotEqualTo(access.tokenId());
+        assertThat(refresh.expiresAt()).isAfter(access.expiresAt());
+    }
+
+    @Test
+    @DisplayName("Token emitido sem a claim uid deve ser verificado sem identificador de usuário")
+    void verify_tokenWithoutUserId() {
+        String legacy = JWT.create().withSubject("autor@example.com").withClaim("role", "USER")
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC512(SECRET));
+
+        assertThat(jwtTokenUtil.verify(legacy).userId()).isNull();
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import br.com.desafioalura.forumhub.model.User;
+import br.com.desafioalura.forumhub.repository.UserRepository;
+import br.com.desafioalura.forumhub.service.JwtUserDetailsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+class JwtUserDetailsServiceTest {
+
+    private static final String EMAIL = "autor@example.com";
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserRepository userRepository;
+    private JwtUserDetailsService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userRepository = mock(UserRepository.class);
+        service = new JwtUserDetailsService(userRepository, meterRegistry, 100, Duration.ofMinutes(5));
+
+        user = new User(EMAIL, "hash", User.Role.USER);
+        user.setId(1L);
+        user.setActive(true);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    @DisplayName("Cargas repetidas do mesmo usuário devem consultar o banco uma única vez")
+    void loadUserByUsername_servesRepeatedLoadsFromCache() {
+        service.loadUserByUsername(EMAIL);
+        UserDetails second = service.loadUserByUsername(EMAIL);
+
+        assertThat(second.getPassword()).isEqualTo("hash");
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", JwtUserDetailsService.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Remoção deve fazer a desativação valer na carga seguinte")
+    void evict_reloadsChangedUser() {
+        assertThat(service.loadUserByUsername(EMAIL).isEnabled()).isTrue();
+
+        user.setActive(false);
+        service.evict(EMAIL);
+
+        assertThat(service.loadUserByUsername(EMAIL).isEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Usuário inexistente não deve ficar em cache")
+    void loadUserByUsername_doesNotCacheMissingUser() {
+        when(userRepository.findByEmail("outro@example.com")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.loadUserByUsername("outro@example.com"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> service.loadUserByUsername("outro@example.com"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        verify(userRepository, times(2)).findByEmail("outro@example.com");
+    }
+}
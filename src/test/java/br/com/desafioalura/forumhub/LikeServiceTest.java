@@ -0,0 +1,192 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.desafioalura.forumhub.cache.LikedPostsCache;
+import br.com.desafioalura.forumhub.cache.PostDetailCache;
+import br.com.desafioalura.forumhub.exception.ResourceNotFoundException;
+import br.com.desafioalura.forumhub.model.Course;
+import br.com.desafioalura.forumhub.model.Post;
+import br.com.desafioalura.forumhub.model.User;
+import br.com.desafioalura.forumhub.monitoring.BusinessMetrics;
+import br.com.desafioalura.forumhub.repository.LikeRepository;
+import br.com.desafioalura.forumhub.repository.PostRepository;
+import br.com.desafioalura.forumhub.service.LikeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@Import({LikeService.class, PostDetailCache.class, LikedPostsCache.class, SimpleMeterRegistry.class, BusinessMetrics.class})
+class LikeServiceTest extends AbstractMySQLJpaTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Long postId;
+    private Long courseId;
+    private Long authorId;
+    private Long readerId;
+
+    @BeforeEach
+    void setUp() {
+        // Junta-se à transação do teste quando ela existe; no teste concorrente, sem ela, os dados são confirmados.
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            User author = entityManager.persist(TestFixtures.user("autor@example.com"));
+            User reader = entityManager.persist(TestFixtures.user("leitor@example.com"));
+            Course course = entityManager.persist(TestFixtures.course("Spring Boot"));
+            Post post = entityManager.persist(TestFixtures.post(author, course, "Post"));
+            entityManager.flush();
+
+            postId = post.getId();
+            courseId = course.getId();
+            authorId = author.getId();
+            readerId = reader.getId();
+        });
+    }
+
+    @Test
+    @DisplayName("Curtir deve devolver o novo total e curtir de novo não deve falhar nem contar duas vezes")
+    void likePost_isIdempotent() {
+        assertThat(likeService.likePost(postId, authorId)).isEqualTo(1);
+        assertThat(likeService.likePost(postId, readerId)).isEqualTo(2);
+        assertThat(likeService.likePost(postId, readerId)).isEqualTo(2);
+
+        assertThat(likeRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Descurtir deve devolver o novo total e descurtir de novo não deve falhar")
+    void unlikePost_isIdempotent() {
+        likeService.likePost(postId, authorId);
+
+        assertThat(likeService.unlikePost(postId, authorId)).isZero();
+        assertThat(likeService.unlikePost(postId, authorId)).isZero();
+        assertThat(likeRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Status de curtida em lote deve trazer só os posts curtidos pelo usuário")
+    void findLikedPostIds_resolvesWholePage() {
+        // A invalidação do cache ocorre após o commit, que aqui não acontece: o cache só é lido depois da curtida.
+        likeService.likePost(postId, readerId);
+        List<Long> page = List.of(postId + 1000, postId);
+
+        assertThat(likeService.findLikedPostIds(readerId, page)).containsExactly(postId);
+        assertThat(likeService.findLikedPostIds(readerId, page)).containsExactly(postId);
+        assertThat(likeService.findLikedPostIds(authorId, page)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Curtir post inexistente deve resultar em 404")
+    void likePost_missingPost() {
+        assertThatThrownBy(() -> likeService.likePost(postId + 1000, authorId))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Curtir com usuário inexistente deve resultar em 404, e não em sucesso silencioso")
+    void likePost_missingUser() {
+        assertThatThrownBy(() -> likeService.likePost(postId, readerId + 1000))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Usuário");
+        assertThat(likeRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("A métrica de curtidas só deve contar após o commit")
+    void likePost_countsMetricAfterCommit() {
+        Counter likes = meterRegistry.get("forum.likes").tag("action", "like").counter();
+        double before = likes.count();
+
+        // A transação do teste nunca faz commit.
+        likeService.likePost(postId, readerId);
+
+        assertThat(likes.count()).isEqualTo(before);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Curtidas simultâneas no mesmo post não devem entrar em deadlock nem perder contagem")
+    void likePost_concurrentLikesOnSamePost() throws Exception {
+        int likers = 8;
+        List<Long> userIds = transaction.execute(status -> IntStream.range(0, likers)
+                .mapToObj(i -> entityManager.persist(TestFixtures.user("concorrente" + i + "@example.com")).getId())
+                .toList());
+        ExecutorService executor = Executors.newFixedThreadPool(likers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (Long userId : userIds) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return likeService.likePost(postId, userId);
+                }));
+            }
+            start.countDown();
+
+            List<Integer> totals = new ArrayList<>();
+            for (Future<Integer> result : results) {
+                totals.add(result.get(30, TimeUnit.SECONDS));
+            }
+            // O UPDATE do contador trava o post: cada curtida vê o total deixado pela anterior.
+            assertThat(totals).containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(1, likers).boxed().toList());
+            assertThat(postRepository.findLikeCountById(postId)).contains(likers);
+            assertThat(likeRepository.count()).isEqualTo(likers);
+        } finally {
+            executor.shutdownNow();
+            List<Long> createdUsers = new ArrayList<>(userIds);
+            createdUsers.add(authorId);
+            createdUsers.add(readerId);
+            deleteCommittedData(createdUsers);
+        }
+    }
+
+    private void deleteCommittedData(List<Long> userIds) {
+        transaction.executeWithoutResult(status -> {
+            EntityManager em = entityManager.getEntityManager();
+            em.createQuery("DELETE FROM Like l WHERE l.post.id = :postId").setParameter("postId", postId).executeUpdate();
+            em.createQuery("DELETE FROM Post p WHERE p.id = :postId").setParameter("postId", postId).executeUpdate();
+            em.createQuery("DELETE FROM User u WHERE u.id IN :ids").setParameter("ids", userIds).executeUpdate();
+            em.createQuery("DELETE FROM Course c WHERE c.id = :courseId").setParameter("courseId", courseId).executeUpdate();
+        });
+    }
+
+}
@@ -0,0 +1,134 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.desafioalura.forumhub.config.security.PooledPasswordEncoder;
+import br.com.desafioalura.forumhub.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PooledPasswordEncoderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        callers = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Hash e verificação devem funcionar pelo pool e ser medidos")
+    void encodeAndMatches_runOnPool() {
+        try (PooledPasswordEncoder encoder = new PooledPasswordEncoder(
+                new BCryptPasswordEncoder(4), 1, 4, Duration.ofSeconds(5), meterRegistry)) {
+            String hash = encoder.encode("Senha@123");
+
+            assertThat(encoder.matches("Senha@123", hash)).isTrue();
+            assertThat(encoder.matches("outra", hash)).isFalse();
+            assertThat(meterRegistry.get("forum.bcrypt").tag("operation", "matches").timer().count()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("Com pool e fila cheios a operação deve ser recusada na hora com 503")
+    void encode_rejectsWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+
+        try (PooledPasswordEncoder encoder = new PooledPasswordEncoder(
+                blocking, 1, 1, Duration.ofSeconds(5), meterRegistry)) {
+            Future<String> running = callers.submit(() -> encoder.encode("a"));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<String> queued = callers.submit(() -> encoder.encode("b"));
+            waitUntilQueued(1);
+
+            assertThatThrownBy(() -> encoder.encode("c")).isInstanceOf(ServiceOverloadedException.class);
+            assertThat(meterRegistry.get("forum.bcrypt.rejected").counter().count()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isNotBlank();
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isNotBlank();
+        }
+    }
+
+    @Test
+    @DisplayName("Tarefa de quem desistiu por tempo de espera deve sair da fila e nunca rodar")
+    void encode_dropsQueuedTaskAfterCallerTimesOut() throws Exception {
+        AtomicInteger hashes = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashes.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+
+        try (PooledPasswordEncoder encoder = new PooledPasswordEncoder(
+                blocking, 1, 1, Duration.ofMillis(500), meterRegistry)) {
+            Future<String> running = callers.submit(() -> encoder.encode("a"));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> encoder.encode("b")).isInstanceOf(ServiceOverloadedException.class);
+            assertThat(meterRegistry.get("executor.queued").tag("name", PooledPasswordEncoder.EXECUTOR_NAME)
+                    .gauge().value()).isZero();
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isNotBlank();
+            // O pool tem uma thread e fila FIFO: se "b" ainda estivesse na fila, rodaria antes de "c".
+            assertThat(encoder.encode("c")).isNotBlank();
+            assertThat(hashes).hasValue(2);
+        }
+    }
+
+    private void waitUntilQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").tag("name", PooledPasswordEncoder.EXECUTOR_NAME)
+                .gauge().value() < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Tarefa não chegou à fila no tempo esperado.");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.desafioalura.forumhub.dto.PostCursor;
+import br.com.desafioalura.forumhub.exception.InvalidCursorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+
+class PostCursorTest {
+
+    @Test
+    @DisplayName("Cursor codificado deve ser decodificado na mesma posição, inclusive com microssegundos")
+    void encode_roundTrips() {
+        PostCursor cursor = new PostCursor(LocalDateTime.of(2024, 5, 10, 14, 30, 0, 123_456_000), 42L);
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(PostCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"%%%", "c2VtLXNlcGFyYWRvcg", "bsOjby11bWEtZGF0YXw0Mg", "MjAyNC0wNS0xMFQxNDozMHxhYmM"})
+    @DisplayName("Cursor adulterado deve gerar InvalidCursorException")
+    void decode_rejectsTamperedTokens(String token) {
+        assertThatThrownBy(() -> PostCursor.decode(token))
+                .isInstanceOf(InvalidCursorException.class)
+                .hasMessage("Cursor inválido.");
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.desafioalura.forumhub.cache.PostDetailCache;
+import br.com.desafioalura.forumhub.dto.CommentDTO;
+import br.com.desafioalura.forumhub.dto.PostDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PostDetailCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PostDetailCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new PostDetailCache(meterRegistry, 100, Duration.ofMinutes(10), Duration.ofSeconds(5));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Segunda leitura do mesmo post deve vir do cache e ser contada como acerto")
+    void get_servesRepeatedReadsFromCache() {
+        cache.get(1L, this::load);
+        PostDTO second = cache.get(1L, this::load);
+
+        assertThat(second.getTitle()).isEqualTo("Post 1 v1");
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", PostDetailCache.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Remoção deve forçar nova carga do post")
+    void evict_forcesReload() {
+        cache.get(1L, this::load);
+        cache.evict(1L);
+
+        assertThat(cache.get(1L, this::load).getTitle()).isEqualTo("Post 1 v2");
+    }
+
+    @Test
+    @DisplayName("Carga concorrente com uma remoção não deve gravar o valor antigo no cache")
+    void get_discardsLoadRacingWithEviction() {
+        PostDTO stale = cache.get(1L, id -> {
+            cache.evict(id);
+            return load(id);
+        });
+
+        assertThat(stale.getTitle()).isEqualTo("Post 1 v1");
+        assertThat(cache.get(1L, this::load).getTitle()).isEqualTo("Post 1 v2");
+    }
+
+    @Test
+    @DisplayName("Remoção de outro post durante a carga não deve impedir a gravação no cache")
+    void get_keepsLoadWhenOtherPostIsEvicted() {
+        cache.get(1L, id -> {
+            cache.evict(2L);
+            return load(id);
+        });
+
+        assertThat(cache.get(1L, this::load).getTitle()).isEqualTo("Post 1 v1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Alterar o post devolvido não deve alterar o valor guardado no cache")
+    void get_returnsIndependentCopies() {
+        PostDTO first = cache.get(1L, id -> PostDTO.builder().id(id).title("Original")
+                .comments(new ArrayList<>(List.of(new CommentDTO(10L, "Comentário", "autor@example.com", null))))
+                .build());
+        first.setTitle("Alterado");
+        first.getComments().get(0).setContent("Alterado");
+        first.getComments().clear();
+
+        PostDTO second = cache.get(1L, this::load);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getTitle()).isEqualTo("Original");
+        assertThat(second.getComments()).singleElement()
+                .extracting(CommentDTO::getContent).isEqualTo("Comentário");
+    }
+
+    private PostDTO load(Long id) {
+        return PostDTO.builder().id(id).title("Post " + id + " v" + loads.incrementAndGet()).build();
+    }
+}
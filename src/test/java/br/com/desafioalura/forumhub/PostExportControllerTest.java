@@ -0,0 +1,131 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import br.com.desafioalura.forumhub.config.security.JwtTokenUtil;
+import br.com.desafioalura.forumhub.config.security.TokenRevocationList;
+import br.com.desafioalura.forumhub.controller.PostController;
+import br.com.desafioalura.forumhub.dto.PostDTO;
+import br.com.desafioalura.forumhub.service.LikeService;
+import br.com.desafioalura.forumhub.service.PostService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+@WebMvcTest(PostController.class)
+@WithMockUser
+class PostExportControllerTest {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private PostService postService;
+
+    @MockitoBean
+    private LikeService likeService;
+
+    @MockitoBean
+    private ModelMapper modelMapper;
+
+    @MockitoBean // Dependências do JwtAuthenticationFilter
+    private JwtTokenUtil jwtTokenUtil;
+
+    @MockitoBean
+    private TokenRevocationList tokenRevocationList;
+
+    private List<PostDTO> posts;
+
+    @BeforeEach
+    void setUp() {
+        posts = List.of(post(1L, "Primeiro"), post(2L, "Segundo"), post(3L, "Terceiro"));
+        doAnswer(invocation -> {
+            Consumer<PostDTO> sink = invocation.getArgument(0);
+            posts.forEach(sink);
+            return null;
+        }).when(postService).exportAllPosts(any());
+    }
+
+    @Test
+    @DisplayName("Exportação deve gerar um JSON por linha, sem separador antes das linhas seguintes")
+    void export_writesOnePostPerLine() throws Exception {
+        String body = mockMvc.perform(get("/forum/posts/export").accept(NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body).endsWith("\n");
+        assertThat(body.split("\n", -1)).containsExactly(
+                objectMapper.writeValueAsString(posts.get(0)),
+                objectMapper.writeValueAsString(posts.get(1)),
+                objectMapper.writeValueAsString(posts.get(2)),
+                "");
+    }
+
+    @Test
+    @DisplayName("A listagem com Accept: application/x-ndjson deve ser transmitida em streaming")
+    void listing_negotiatesNdjson() throws Exception {
+        StringBuilder expected = new StringBuilder();
+        for (PostDTO post : posts) {
+            expected.append(objectMapper.writeValueAsString(post)).append('\n');
+        }
+
+        mockMvc.perform(get("/forum/posts").accept(NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(NDJSON))
+                .andExpect(content().string(expected.toString()));
+        verify(postService, never()).getAllPost();
+    }
+
+    @Test
+    @DisplayName("A listagem sem NDJSON no Accept deve continuar devolvendo um array JSON")
+    void listing_defaultsToJsonArray() throws Exception {
+        when(postService.getAllPost()).thenReturn(posts);
+
+        mockMvc.perform(get("/forum/posts").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[1].title").value("Segundo"));
+        verify(postService, never()).exportAllPosts(any());
+    }
+
+    private static PostDTO post(Long id, String title) {
+        return PostDTO.builder()
+                .id(id)
+                .title(title)
+                .content("Conteúdo de " + title)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(id))
+                .userEmail("autor@example.com")
+                .courseId(1L)
+                .courseName("Java")
+                .likesCount(id.intValue())
+                .build();
+    }
+}
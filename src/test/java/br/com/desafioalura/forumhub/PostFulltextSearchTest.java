@@ -0,0 +1,143 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.desafioalura.forumhub.cache.CourseCatalog;
+import br.com.desafioalura.forumhub.cache.PostDetailCache;
+import br.com.desafioalura.forumhub.config.ModelMapperConfig;
+import br.com.desafioalura.forumhub.dto.PostDTO;
+import br.com.desafioalura.forumhub.model.Course;
+import br.com.desafioalura.forumhub.model.Post;
+import br.com.desafioalura.forumhub.model.User;
+import br.com.desafioalura.forumhub.monitoring.BusinessMetrics;
+import br.com.desafioalura.forumhub.search.PostSearchIndex;
+import br.com.desafioalura.forumhub.service.PostService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Busca com {@code forum.search.backend=fulltext} contra os índices reais da migração V7. O esquema dos testes
+ * é gerado pelo Hibernate, então a migração é aplicada aqui. O InnoDB só indexa linhas confirmadas, por isso os
+ * dados são gravados fora da transação do teste e removidos ao final.
+ */
+@Import({PostService.class, PostSearchIndex.class, PostDetailCache.class, CourseCatalog.class, SimpleMeterRegistry.class, BusinessMetrics.class, ModelMapperConfig.class})
+@TestPropertySource(properties = "forum.search.backend=fulltext")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PostFulltextSearchTest extends AbstractMySQLJpaTest {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private final List<Long> postIds = new ArrayList<>();
+    private Long authorId;
+    private Long courseId;
+
+    @BeforeEach
+    void setUp() {
+        Integer indexes = new JdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'posts' AND index_type = 'FULLTEXT'",
+                Integer.class);
+        if (indexes == null || indexes == 0) {
+            new ResourceDatabasePopulator(new ClassPathResource("db/migration/V7__create_posts_fulltext_indexes.sql"))
+                    .execute(dataSource);
+        }
+
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            User author = entityManager.persist(TestFixtures.user("autor@example.com"));
+            Course course = entityManager.persist(TestFixtures.course("Spring Boot"));
+            authorId = author.getId();
+            courseId = course.getId();
+
+            newPost(author, course, "Cache de segundo nível", "Configurar cache com Caffeine: cache de entidades e cache de consultas.");
+            newPost(author, course, "Desempenho do Hibernate", "Evite N+1 consultas; um cache ajuda pouco aqui.");
+            newPost(author, course, "Segurança com JWT", "Filtros do Spring Security e tokens assinados.");
+            newPost(author, course, "Concorrência em Go", "Goroutines e canais em Go.");
+            newPost(author, course, "Migrações com Flyway", "Versionamento do esquema do banco.");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            EntityManager em = entityManager.getEntityManager();
+            em.createQuery("DELETE FROM Post p WHERE p.id IN :ids").setParameter("ids", postIds).executeUpdate();
+            em.createQuery("DELETE FROM User u WHERE u.id = :id").setParameter("id", authorId).executeUpdate();
+            em.createQuery("DELETE FROM Course c WHERE c.id = :id").setParameter("id", courseId).executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("Busca por conteúdo deve usar MATCH e ordenar pela relevância")
+    void searchByContent_ordersByRelevance() {
+        List<PostDTO> results = postService.searchPostsByTitleOrContent(null, "cache", FIRST_PAGE).getContent();
+
+        assertThat(results).extracting(PostDTO::getTitle)
+                .containsExactly("Cache de segundo nível", "Desempenho do Hibernate");
+    }
+
+    @Test
+    @DisplayName("Busca por título deve usar o índice do título, ignorando o conteúdo")
+    void searchByTitle_matchesOnlyTitles() {
+        List<PostDTO> results = postService.searchPostsByTitleOrContent("hibernate", null, FIRST_PAGE).getContent();
+
+        assertThat(results).extracting(PostDTO::getTitle).containsExactly("Desempenho do Hibernate");
+    }
+
+    @Test
+    @DisplayName("Busca em título e conteúdo deve usar o índice composto")
+    void searchByTitleAndContent_usesCompositeIndex() {
+        List<PostDTO> results = postService.searchPostsByTitleOrContent("flyway", "esquema", FIRST_PAGE).getContent();
+
+        assertThat(results).extracting(PostDTO::getTitle).containsExactly("Migrações com Flyway");
+    }
+
+    @Test
+    @DisplayName("Termos menores que o token mínimo do FULLTEXT devem cair para a busca com LIKE")
+    void searchWithShortTerms_fallsBackToLike() {
+        List<PostDTO> results = postService.searchPostsByTitleOrContent(null, "Go", FIRST_PAGE).getContent();
+
+        assertThat(results).extracting(PostDTO::getTitle).containsExactly("Concorrência em Go");
+    }
+
+    private void newPost(User author, Course course, String title, String content) {
+        Post post = TestFixtures.post(author, course, title);
+        post.setContent(content);
+        entityManager.persist(post);
+        postIds.add(post.getId());
+    }
+}
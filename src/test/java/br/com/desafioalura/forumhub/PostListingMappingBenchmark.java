@@ -0,0 +1,98 @@
+package br.com.desafioalura.forumhub;
+
+import br.com.desafioalura.forumhub.config.ModelMapperConfig;
+import br.com.desafioalura.forumhub.dto.PostDTO;
+import br.com.desafioalura.forumhub.dto.PostSummaryDTO;
+import br.com.desafioalura.forumhub.model.Comment;
+import br.com.desafioalura.forumhub.model.Course;
+import br.com.desafioalura.forumhub.model.Post;
+import br.com.desafioalura.forumhub.model.User;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark do mapeamento de uma página de listagem (20 posts, 5 comentários cada): entidades + ModelMapper,
+ * como a listagem fazia antes, contra {@link PostDTO#fromSummary} sobre a projeção. Roda com o {@link GCProfiler},
+ * então o relatório traz também os bytes alocados por operação ({@code gc.alloc.rate.norm}).
+ *
+ * <p>As consultas ficam de fora (os dados já estão em memória); a contagem de comandos SQL da listagem
+ * é verificada no {@link PostPagingQueryTest}.</p>
+ *
+ * <p>Não roda com os testes; execute a partir da IDE ou com
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=br.com.desafioalura.forumhub.PostListingMappingBenchmark}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostListingMappingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int COMMENTS_PER_POST = 5;
+
+    private ModelMapper modelMapper;
+    private List<Post> posts;
+    private List<PostSummaryDTO> summaries;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapperConfig().modelMapper(false);
+        User author = TestFixtures.user(1L, "autor@example.com");
+        User reader = TestFixtures.user(2L, "leitor@example.com");
+        Course course = TestFixtures.course(1L, "Spring Boot");
+
+        LocalDateTime now = LocalDateTime.now();
+        posts = new ArrayList<>(PAGE_SIZE);
+        summaries = new ArrayList<>(PAGE_SIZE);
+        for (long i = 1; i <= PAGE_SIZE; i++) {
+            Post post = TestFixtures.post(author, course, "Post " + i, now.minusMinutes(i));
+            post.setId(i);
+            post.setLikeCount(1);
+            post.setCommentCount(COMMENTS_PER_POST);
+            for (long c = 1; c <= COMMENTS_PER_POST; c++) {
+                post.getComments().add(new Comment(i * 100 + c, "Comentário " + c, now, reader, post, null));
+            }
+            posts.add(post);
+            summaries.add(new PostSummaryDTO(i, post.getTitle(), post.getContent(), post.getCreatedAt(),
+                    post.getUpdatedAt(), true, author.getEmail(), course.getId(), course.getName(), 1, COMMENTS_PER_POST));
+        }
+    }
+
+    @Benchmark
+    public List<PostDTO> entitiesWithModelMapper() {
+        return posts.stream().map(post -> modelMapper.map(post, PostDTO.class)).toList();
+    }
+
+    @Benchmark
+    public List<PostDTO> projection() {
+        return summaries.stream().map(PostDTO::fromSummary).toList();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PostListingMappingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
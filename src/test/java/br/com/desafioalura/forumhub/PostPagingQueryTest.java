@@ -0,0 +1,138 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.desafioalura.forumhub.cache.CourseCatalog;
+import br.com.desafioalura.forumhub.cache.PostDetailCache;
+import br.com.desafioalura.forumhub.config.ModelMapperConfig;
+import br.com.desafioalura.forumhub.dto.CursorPageDTO;
+import br.com.desafioalura.forumhub.dto.PostDTO;
+import br.com.desafioalura.forumhub.model.Comment;
+import br.com.desafioalura.forumhub.model.Course;
+import br.com.desafioalura.forumhub.model.Like;
+import br.com.desafioalura.forumhub.model.Post;
+import br.com.desafioalura.forumhub.model.User;
+import br.com.desafioalura.forumhub.monitoring.BusinessMetrics;
+import br.com.desafioalura.forumhub.search.PostSearchIndex;
+import br.com.desafioalura.forumhub.service.PostService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A listagem paginada deve sair de consultas de projeção, com número fixo de comandos e sem carregar entidades.
+ * A diferença de alocação em relação ao caminho antigo (entidades + ModelMapper) é medida no
+ * {@link PostListingMappingBenchmark}, fora da suíte.
+ */
+@Import({PostService.class, PostSearchIndex.class, PostDetailCache.class, CourseCatalog.class, SimpleMeterRegistry.class, BusinessMetrics.class, ModelMapperConfig.class})
+class PostPagingQueryTest extends AbstractMySQLJpaTest {
+
+    private static final int POSTS = 60;
+    private static final int COMMENTS_PER_POST = 3;
+    // IDs da página, contagem total e projeção da página (com as contagens agregadas).
+    private static final int MAX_STATEMENTS_PER_PAGE = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PostService postService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User author = entityManager.persist(TestFixtures.user("autor@example.com"));
+        User reader = entityManager.persist(TestFixtures.user("leitor@example.com"));
+        Course course = entityManager.persist(TestFixtures.course("Spring Boot"));
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < POSTS; i++) {
+            Post post = entityManager.persist(TestFixtures.post(author, course, "Post " + i, now.minusMinutes(i)));
+
+            for (int c = 0; c < COMMENTS_PER_POST; c++) {
+                entityManager.persist(new Comment(null, "Comentário " + c, now, reader, post, null));
+            }
+            entityManager.persist(new Like(null, author, post, now));
+            entityManager.persist(new Like(null, reader, post, now));
+        }
+        entityManager.flush();
+        // Os contadores denormalizados são mantidos pelos serviços; aqui os dados são inseridos direto.
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Post p SET p.likeCount = 2, p.commentCount = " + COMMENTS_PER_POST)
+                .executeUpdate();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 10, 40})
+    @DisplayName("Listagem paginada deve usar número fixo de consultas sem carregar entidades")
+    void activePostsPage_usesFixedStatementsWithoutLoadingEntities(int pageSize) {
+        Page<PostDTO> page = postService.getActivePosts(PageRequest.of(1, pageSize, Sort.by("createdAt").descending()));
+
+        assertThat(page.getContent()).hasSize(pageSize);
+        assertThat(page.getTotalElements()).isEqualTo(POSTS);
+        assertThat(page.getContent().get(0).getTitle()).isEqualTo("Post " + pageSize);
+        assertThat(page.getContent()).allSatisfy(post -> {
+            assertThat(post.getCommentsCount()).isEqualTo(COMMENTS_PER_POST);
+            assertThat(post.getLikesCount()).isEqualTo(2);
+        });
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Cursor deve atravessar páginas com datas de criação iguais sem repetir nem pular posts")
+    void cursorFeed_keepsOrderAcrossPagesWithEqualTimestamps() {
+        User author = entityManager.getEntityManager()
+                .createQuery("SELECT u FROM User u WHERE u.email = 'autor@example.com'", User.class).getSingleResult();
+        Course course = entityManager.getEntityManager()
+                .createQuery("SELECT c FROM Course c", Course.class).getSingleResult();
+        LocalDateTime tie = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        List<Long> tiedIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tiedIds.add(entityManager.persistAndGetId(TestFixtures.post(author, course, "Empate " + i, tie), Long.class));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<PostDTO> feed = new ArrayList<>();
+        String cursor = null;
+        for (int page = 0; page < 3; page++) {
+            CursorPageDTO<PostDTO> result = postService.getActivePostsByCursor(cursor, 2);
+            feed.addAll(result.content());
+            cursor = result.next();
+        }
+
+        tiedIds.sort(Comparator.reverseOrder());
+        assertThat(feed).extracting(PostDTO::getId).doesNotHaveDuplicates();
+        assertThat(feed.subList(0, 5)).extracting(PostDTO::getId).containsExactlyElementsOf(tiedIds);
+        assertThat(feed.get(5).getTitle()).isEqualTo("Post 0");
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.desafioalura.forumhub;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import br.com.desafioalura.forumhub.config.security.JwtTokenUtil;
+import br.com.desafioalura.forumhub.model.Comment;
+import br.com.desafioalura.forumhub.model.Course;
+import br.com.desafioalura.forumhub.model.Post;
+import br.com.desafioalura.forumhub.model.User;
+import br.com.desafioalura.forumhub.repository.CommentRepository;
+import br.com.desafioalura.forumhub.repository.CourseRepository;
+import br.com.desafioalura.forumhub.repository.PostRepository;
+import br.com.desafioalura.forumhub.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Orçamento de comandos SQL das leituras de post pela pilha completa (filtro JWT, controllers, serviços e
+ * repositórios) sobre o MySQL do {@link AbstractMySQLJpaTest}, contados pelo {@code QueryCountFilter}. Os
+ * comentários têm autores distintos: um N+1 sobre os autores estouraria o orçamento.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "management.server.port=-1"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PostReadQueryBudgetTest {
+
+    private static final int COMMENT_AUTHORS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private Long courseId;
+    private Long postId;
+    private String token;
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        AbstractMySQLJpaTest.mysqlProperties(registry);
+    }
+
+    @BeforeAll
+    void setUp() {
+        User author = userRepository.save(TestFixtures.user("autor@example.com"));
+        userIds.add(author.getId());
+        Course course = courseRepository.save(TestFixtures.course("Spring Boot"));
+        courseId = course.getId();
+        Post post = postRepository.save(TestFixtures.post(author, course, "Post"));
+        postId = post.getId();
+        for (int i = 0; i < COMMENT_AUTHORS; i++) {
+            User reader = userRepository.save(TestFixtures.user("leitor" + i + "@example.com"));
+            userIds.add(reader.getId());
+            commentRepository.save(new Comment(null, "Comentário " + i, LocalDateTime.now(), reader, post, null));
+        }
+        token = jwtTokenUtil.generateToken(author.getId(), author.getEmail(), User.Role.USER.name());
+    }
+
+    @AfterAll
+    void tearDown() {
+        postRepository.deleteById(postId); // remove os comentários em cascata
+        userRepository.deleteAllById(userIds);
+        courseRepository.deleteById(courseId);
+    }
+
+    @Test
+    @DisplayName("Detalhe do post: identidade do usuário, post com comentários e autores, catálogo de cursos")
+    void postDetail_staysWithinBudget() throws Exception {
+        mockMvc.perform(get("/forum/posts/{id}", postId).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments.length()").value(COMMENT_AUTHORS))
+                .andExpect(QueryBudget.atMost(3));
+    }
+
+    @Test
+    @DisplayName("Comentários do post: identidade do usuário, existência do post, comentários com autores")
+    void postComments_staysWithinBudget() throws Exception {
+        mockMvc.perform(get("/posts/{postId}/comments", postId).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(COMMENT_AUTHORS))
+                .andExpect(QueryBudget.atMost(3));
+    }
+}
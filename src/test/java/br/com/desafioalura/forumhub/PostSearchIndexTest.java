@@ -0,0 +1,75 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import br.com.desafioalura.forumhub.dto.PostSummaryDTO;
+import br.com.desafioalura.forumhub.repository.PostRepository;
+import br.com.desafioalura.forumhub.search.PostSearchIndex;
+import br.com.desafioalura.forumhub.search.SearchBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+class PostSearchIndexTest {
+
+    private PostRepository postRepository;
+    private PostSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        searchIndex = new PostSearchIndex(postRepository, SearchBackend.MEMORY);
+    }
+
+    @Test
+    @DisplayName("Reconstrução deve indexar apenas posts ativos e liberar a busca")
+    void rebuild_indexesOnlyActivePosts() {
+        when(postRepository.streamAllSummaries()).thenReturn(Stream.of(
+                summary(1L, "Erro de conexão no Spring", "Não consigo conectar ao banco", true),
+                summary(2L, "Conexão recusada", "Post removido", false)));
+
+        assertThat(searchIndex.isReady()).isFalse();
+        searchIndex.rebuild();
+
+        assertThat(searchIndex.isReady()).isTrue();
+        assertThat(searchIndex.search("conexao", null, PageRequest.of(0, 10)).getContent()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Busca deve ignorar acentos e caixa e priorizar termos no título")
+    void search_foldsAccentsAndRanksTitleMatchesFirst() {
+        searchIndex.index(1L, "Dúvida sobre JPA", "Como configurar a Paginação no repositório?");
+        searchIndex.index(2L, "Paginação com Spring Data", "Uso de Pageable nos controllers");
+        searchIndex.index(3L, "Segurança com JWT", "Filtro de autenticação");
+
+        Page<Long> result = searchIndex.search("PAGINACAO", "paginação", PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).containsExactly(2L, 1L);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Post removido ou reindexado não deve aparecer com os termos antigos")
+    void indexAndRemove_keepIndexInSync() {
+        searchIndex.index(1L, "Hibernate lazy loading", "LazyInitializationException ao serializar");
+        searchIndex.index(2L, "Hibernate cache", "Cache de segundo nível");
+
+        searchIndex.remove(2L);
+        searchIndex.index(1L, "Jackson e proxies", "Erro ao serializar");
+
+        assertThat(searchIndex.search("hibernate", null, PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(searchIndex.search("jackson", null, PageRequest.of(0, 10)).getContent()).containsExactly(1L);
+    }
+
+    private static PostSummaryDTO summary(Long id, String title, String content, boolean active) {
+        LocalDateTime now = LocalDateTime.now();
+        return new PostSummaryDTO(id, title, content, now, now, active, "autor@example.com", 1L, "Spring Boot", 0, 0);
+    }
+}
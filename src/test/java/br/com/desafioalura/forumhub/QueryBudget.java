@@ -0,0 +1,35 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.desafioalura.forumhub.monitoring.QueryCountFilter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Orçamento de comandos SQL por requisição nos testes MockMvc, lido do atributo gravado pelo
+ * {@link QueryCountFilter}: {@code .andExpect(QueryBudget.atMost(3))}.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static ResultMatcher atMost(int maxStatements) {
+        return result -> assertThat(count(result))
+                .as("comandos SQL em %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(maxStatements);
+    }
+
+    public static ResultMatcher exactly(int statements) {
+        return result -> assertThat(count(result))
+                .as("comandos SQL em %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isEqualTo(statements);
+    }
+
+    private static int count(MvcResult result) {
+        Object count = result.getRequest().getAttribute(QueryCountFilter.QUERY_COUNT_ATTRIBUTE);
+        assertThat(count).as("QueryCountFilter não registrado no contexto do teste").isNotNull();
+        return (Integer) count;
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.desafioalura.forumhub.monitoring.QueryCountFilter;
+import br.com.desafioalura.forumhub.monitoring.QueryCounter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+class QueryCountFilterTest {
+
+    @Test
+    @DisplayName("Cabeçalho e atributo devem trazer os comandos executados antes do envio da resposta")
+    void countsStatementsOfTheRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/forum/posts/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new QueryCountFilter(true, 20).doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                QueryCounter.INSPECTOR.inspect("select 1");
+                QueryCounter.INSPECTOR.inspect("select 2");
+                resp.getWriter().write("{}");
+                resp.flushBuffer();
+                QueryCounter.INSPECTOR.inspect("select 3");
+            }
+        }));
+
+        assertThat(response.getHeader(QueryCountFilter.QUERY_COUNT_HEADER)).isEqualTo("2");
+        assertThat(request.getAttribute(QueryCountFilter.QUERY_COUNT_ATTRIBUTE)).isEqualTo(3);
+        assertThat(QueryCounter.current()).isZero();
+    }
+
+    @Test
+    @DisplayName("Sem o cabeçalho habilitado, só o atributo deve ser gravado")
+    void headerDisabledByDefault() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/forum/posts");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new QueryCountFilter(false, 20).doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getHeader(QueryCountFilter.QUERY_COUNT_HEADER)).isNull();
+        assertThat(request.getAttribute(QueryCountFilter.QUERY_COUNT_ATTRIBUTE)).isEqualTo(0);
+    }
+}
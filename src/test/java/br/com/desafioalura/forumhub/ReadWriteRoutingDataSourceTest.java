@@ -0,0 +1,126 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.desafioalura.forumhub.config.datasource.PrimaryReads;
+import br.com.desafioalura.forumhub.config.datasource.ReadWriteRoutingDataSource;
+import br.com.desafioalura.forumhub.config.datasource.ReadYourWritesTracker;
+import br.com.desafioalura.forumhub.config.datasource.Workload;
+import br.com.desafioalura.forumhub.config.datasource.WorkloadContext;
+import br.com.desafioalura.forumhub.config.security.AuthenticatedUser;
+import br.com.desafioalura.forumhub.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Roteamento entre pools e réplica com bancos H2 em memória, cada um identificado por uma linha em {@code origin}.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = embedded("primary");
+        DataSource replica = embedded("replica");
+        DataSource routing = ReadWriteRoutingDataSource.lazy(primary, replica, new ReadYourWritesTracker(Duration.ofMinutes(1)));
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        jdbcTemplate = new JdbcTemplate(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Transação readOnly deve ir à réplica e as demais ao primário")
+    void routesByTransactionReadOnlyFlag() {
+        assertThat(readOnly.execute(status -> origin())).isEqualTo("replica");
+        assertThat(readWrite.execute(status -> origin())).isEqualTo("primary");
+        assertThat(origin()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Depois de uma escrita o usuário deve ler do primário, e os demais continuar na réplica")
+    void readYourWritesAfterCommit() {
+        authenticate(1L);
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE origin SET name = name"));
+        assertThat(readOnly.execute(status -> origin())).isEqualTo("primary");
+
+        authenticate(2L);
+        assertThat(readOnly.execute(status -> origin())).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Cargas de caches compartilhados devem ler do primário mesmo em transação readOnly")
+    void primaryReadsBypassReplica() {
+        assertThat(PrimaryReads.call(() -> readOnly.execute(status -> origin()))).isEqualTo("primary");
+        assertThat(PrimaryReads.active()).isFalse();
+        assertThat(readOnly.execute(status -> origin())).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Cada carga deve usar o seu pool, e só as leituras interativas a réplica")
+    void routesByWorkload() {
+        Map<Workload, DataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            pools.put(workload, embedded(workload.poolName()));
+        }
+        DataSource routing = ReadWriteRoutingDataSource.lazy(pools, embedded("replica"), new ReadYourWritesTracker(Duration.ZERO));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        jdbcTemplate = new JdbcTemplate(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        assertThat(readOnly.execute(status -> origin())).isEqualTo("replica");
+        assertThat(readWrite.execute(status -> origin())).isEqualTo("write");
+        assertThat(WorkloadContext.call(Workload.HEAVY, () -> readOnly.execute(status -> origin()))).isEqualTo("heavy");
+        assertThat(WorkloadContext.call(Workload.AUTH, () -> readOnly.execute(status -> origin()))).isEqualTo("auth");
+        assertThat(WorkloadContext.call(Workload.HEAVY,
+                () -> WorkloadContext.call(Workload.READ, () -> readOnly.execute(status -> origin())))).isEqualTo("heavy");
+        assertThat(WorkloadContext.current()).isNull();
+    }
+
+    private String origin() {
+        List<String> names = jdbcTemplate.queryForList("SELECT name FROM origin", String.class);
+        return names.get(0);
+    }
+
+    private static void authenticate(Long userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "usuario" + userId + "@example.com", User.Role.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    private static DataSource embedded(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS origin");
+        jdbc.execute("CREATE TABLE origin (name VARCHAR(20))");
+        jdbc.update("INSERT INTO origin (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
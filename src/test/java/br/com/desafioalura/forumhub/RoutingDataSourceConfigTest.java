@@ -0,0 +1,60 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.desafioalura.forumhub.config.datasource.RoutingDataSourceConfig;
+import br.com.desafioalura.forumhub.monitoring.SlowQueryRegistry;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Montagem dos pools pelo {@link RoutingDataSourceConfig}, com e sem réplica, sobre bancos H2 em memória.
+ */
+class RoutingDataSourceConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(RoutingDataSourceConfig.class)
+            .withBean(SlowQueryRegistry.class, () -> new SlowQueryRegistry(500))
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:h2:mem:config-primary;DB_CLOSE_DELAY=-1",
+                    "forum.datasource.pools.heavy.maximum-pool-size=2");
+
+    @Test
+    @DisplayName("Sem réplica, o contexto deve subir apenas com os pools do primário")
+    void startsWithoutReplica() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).doesNotHaveBean("replicaDataSource");
+            assertThat(context.getBean("heavyDataSource", HikariDataSource.class).getMaximumPoolSize()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    @DisplayName("Com a réplica configurada, o contexto deve subir e criar o pool da réplica")
+    void startsWithReplica() {
+        contextRunner
+                .withPropertyValues(
+                        "forum.datasource.replica.url=jdbc:h2:mem:config-replica;DB_CLOSE_DELAY=-1",
+                        "forum.datasource.replica.hikari.maximum-pool-size=7")
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    HikariDataSource replica = context.getBean("replicaDataSource", HikariDataSource.class);
+                    assertThat(replica.getJdbcUrl()).startsWith("jdbc:h2:mem:config-replica");
+                    assertThat(replica.getMaximumPoolSize()).isEqualTo(7);
+                    assertThat(replica.isReadOnly()).isTrue();
+                    assertThat(context.getBean("writeDataSource", HikariDataSource.class).getJdbcUrl())
+                            .startsWith("jdbc:h2:mem:config-primary");
+                    try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+                        assertThat(connection.isValid(1)).isTrue();
+                    }
+                });
+    }
+}
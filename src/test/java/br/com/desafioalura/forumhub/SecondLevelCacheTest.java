@@ -0,0 +1,76 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.desafioalura.forumhub.config.SecondLevelCacheConfig;
+import br.com.desafioalura.forumhub.model.Course;
+import br.com.desafioalura.forumhub.model.User;
+import br.com.desafioalura.forumhub.repository.LikeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+@Import(SecondLevelCacheConfig.class)
+class SecondLevelCacheTest extends AbstractMySQLJpaTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Curso lido de novo em outra sessão deve vir do cache de segundo nível")
+    void course_isServedFromSecondLevelCache() {
+        Long id = entityManager.persistAndGetId(new Course("Java"), Long.class);
+        entityManager.flush();
+
+        loadFresh(Course.class, id);
+        Course cached = loadFresh(Course.class, id);
+
+        assertThat(cached.getName()).isEqualTo("Java");
+        assertThat(region(Course.CACHE_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Comando nativo sobre likes não deve invalidar a região de usuários")
+    void nativeLikeWrite_keepsUsersRegion() {
+        User user = new User("autor@example.com", "hash", User.Role.USER);
+        user.setActive(true);
+        Long id = entityManager.persistAndGetId(user, Long.class);
+        entityManager.flush();
+        loadFresh(User.class, id);
+
+        likeRepository.deleteByUserIdAndPostId(id, -1L);
+        loadFresh(User.class, id);
+
+        assertThat(region(User.CACHE_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    private <T> T loadFresh(Class<T> type, Long id) {
+        entityManager.clear();
+        return entityManager.find(type, id);
+    }
+
+    private CacheRegionStatistics region(String name) {
+        return statistics.getDomainDataRegionStatistics(name);
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.desafioalura.forumhub.monitoring.RequestTimings;
+import br.com.desafioalura.forumhub.monitoring.ServerTimingFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+class ServerTimingFilterTest {
+
+    @Test
+    @DisplayName("Cabeçalho deve trazer as fases da requisição e os timers devem ser registrados por endpoint")
+    void writesHeaderAndRecordsPhases() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/forum/posts/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ServerTimingFilter(meterRegistry).doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/forum/posts/{id}");
+                RequestTimings.add(RequestTimings.Phase.DB, TimeUnit.MILLISECONDS.toNanos(2));
+                RequestTimings.begin(RequestTimings.Phase.SERIALIZATION);
+                resp.getWriter().write("{}");
+                resp.flushBuffer();
+                RequestTimings.end(RequestTimings.Phase.SERIALIZATION);
+            }
+        }));
+
+        String header = response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER);
+        assertThat(header).startsWith("jwt;dur=0.00, db;dur=2.00, map;dur=0.00, json;dur=").contains("total;dur=");
+        assertThat(meterRegistry.get("forum.http.server.timing")
+                .tag("uri", "/forum/posts/{id}").tag("phase", "db").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(2.0);
+        assertThat(RequestTimings.current()).isNull();
+    }
+}
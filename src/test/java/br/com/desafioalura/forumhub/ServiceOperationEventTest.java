@@ -0,0 +1,85 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import br.com.desafioalura.forumhub.cache.CourseCatalog;
+import br.com.desafioalura.forumhub.dto.CourseDTO;
+import br.com.desafioalura.forumhub.monitoring.FlightRecordingService;
+import br.com.desafioalura.forumhub.monitoring.ServiceOperationEventAspect;
+import br.com.desafioalura.forumhub.repository.CourseRepository;
+import br.com.desafioalura.forumhub.service.CourseService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+class ServiceOperationEventTest {
+
+    private static final String EVENT_NAME = "br.com.desafioalura.forumhub.ServiceOperation";
+
+    private FlightRecordingService recordings;
+    private CourseService courseService;
+
+    @BeforeEach
+    void setUp() {
+        recordings = new FlightRecordingService(Duration.ofMinutes(5), DataSize.ofMegabytes(10), "default");
+
+        CourseCatalog catalog = mock(CourseCatalog.class);
+        when(catalog.courses()).thenReturn(List.of(new CourseDTO(1L, "Java"), new CourseDTO(2L, "Spring")));
+        when(catalog.findName(7L)).thenReturn(Optional.of("JFR"));
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(
+                new CourseService(mock(CourseRepository.class), catalog));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceOperationEventAspect());
+        courseService = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recordings.close();
+    }
+
+    @Test
+    @DisplayName("Com a gravação ativa, cada operação deve gerar um evento com IDs e linhas")
+    void recordsServiceOperations(@TempDir Path dir) throws Exception {
+        recordings.start();
+        courseService.getAllCourses();
+        courseService.getCourseById(7L);
+        recordings.stop();
+
+        Path file = dir.resolve("forumhub.jfr");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            recordings.dump(out);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(EVENT_NAME))
+                .toList();
+
+        assertThat(events).extracting(event -> event.getString("operation"))
+                .containsExactly("CourseService.getAllCourses", "CourseService.getCourseById");
+        assertThat(events.get(0).getInt("rowCount")).isEqualTo(2);
+        assertThat(events.get(1).getString("entityIds")).endsWith("=7");
+        assertThat(events).allMatch(event -> event.getBoolean("success"));
+    }
+
+    @Test
+    @DisplayName("Sem gravação ativa as chamadas não devem ser afetadas")
+    void passesThroughWithoutRecording() {
+        assertThat(courseService.getAllCourses()).hasSize(2);
+    }
+}
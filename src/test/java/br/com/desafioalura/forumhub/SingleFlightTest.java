@@ -0,0 +1,142 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.desafioalura.forumhub.cache.SingleFlight;
+import br.com.desafioalura.forumhub.exception.ResourceNotFoundException;
+import br.com.desafioalura.forumhub.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Chamadas concorrentes para a mesma chave devem compartilhar uma única carga")
+    void execute_coalescesConcurrentLoads() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("teste", Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        List<Future<String>> results = startCallers(singleFlight, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "post";
+        });
+        waitForCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("post");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(coalesced()).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    @DisplayName("Falha da carga deve ser propagada a todos que a aguardavam")
+    void execute_propagatesFailureToWaiters() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("teste", Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = startCallers(singleFlight, () -> {
+            await(release);
+            throw new ResourceNotFoundException("Post não encontrado com ID: 1");
+        });
+        waitForCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(ResourceNotFoundException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Quem aguarda além do timeout deve receber ServiceOverloadedException")
+    void execute_timesOutWaiters() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("teste", Duration.ofMillis(50), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            started.countDown();
+            await(release);
+            return "post";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> singleFlight.execute(1L, () -> "outro"))
+                .isInstanceOf(ServiceOverloadedException.class);
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("post");
+    }
+
+    private List<Future<String>> startCallers(SingleFlight<Long, String> singleFlight, Supplier<String> loader) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(1L, loader)));
+        }
+        return results;
+    }
+
+    private void waitForCoalesced(int expected) throws InterruptedException {
+        waitUntil(() -> coalesced() >= expected);
+    }
+
+    private double coalesced() {
+        return meterRegistry.get("forum.singleflight.coalesced").tag("name", "teste").counter().count();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condição não atingida no tempo esperado.");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import br.com.desafioalura.forumhub.dto.QueryShapeDTO;
+import br.com.desafioalura.forumhub.monitoring.SlowQueryRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+class SlowQueryRegistryTest {
+
+    @Test
+    @DisplayName("Comandos que diferem só em literais e listas de IN devem ter a mesma forma")
+    void record_groupsByNormalizedShape() {
+        SlowQueryRegistry registry = new SlowQueryRegistry(100);
+
+        registry.record("select * from posts where id = 10 and title = 'a''b'", millis(1));
+        registry.record("select *  from posts\n where id = 42 and title = 'x'", millis(1));
+        registry.record("select * from likes where post_id in (?, ?, ?)", millis(1));
+        registry.record("select * from likes where post_id in (?)", millis(1));
+
+        assertThat(registry.top(SlowQueryRegistry.Order.COUNT, 10))
+                .extracting(QueryShapeDTO::shape, QueryShapeDTO::count)
+                .containsExactlyInAnyOrder(
+                        tuple("select * from posts where id = ? and title = ?", 2L),
+                        tuple("select * from likes where post_id in (...)", 2L));
+    }
+
+    @Test
+    @DisplayName("Percentis devem refletir a cauda e o top-N deve seguir a ordenação pedida")
+    void top_ordersByPercentileAndCount() {
+        SlowQueryRegistry registry = new SlowQueryRegistry(100);
+        for (int i = 0; i < 99; i++) {
+            registry.record("select 1 from rapida", millis(1));
+        }
+        registry.record("select 1 from rapida", millis(200));
+        for (int i = 0; i < 3; i++) {
+            registry.record("select 1 from lenta", millis(50));
+        }
+
+        List<QueryShapeDTO> byP99 = registry.top(SlowQueryRegistry.Order.P99, 1);
+        assertThat(byP99).extracting(QueryShapeDTO::shape).containsExactly("select ? from lenta");
+        assertThat(byP99.get(0).p50Ms()).isBetween(50.0, 62.5);
+
+        QueryShapeDTO frequent = registry.top(SlowQueryRegistry.Order.COUNT, 1).get(0);
+        assertThat(frequent.count()).isEqualTo(100);
+        assertThat(frequent.p50Ms()).isBetween(1.0, 1.25);
+        assertThat(frequent.maxMs()).isEqualTo(200.0);
+    }
+
+    private static long millis(long value) {
+        return TimeUnit.MILLISECONDS.toNanos(value);
+    }
+}
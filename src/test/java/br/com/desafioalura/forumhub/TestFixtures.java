@@ -0,0 +1,54 @@
+package br.com.desafioalura.forumhub;
+
+import br.com.desafioalura.forumhub.model.Course;
+import br.com.desafioalura.forumhub.model.Post;
+import br.com.desafioalura.forumhub.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidades de teste, ainda não persistidas: os testes sobre o MySQL as gravam com o {@code TestEntityManager};
+ * os demais (mocks e benchmarks) atribuem os IDs com as variantes que os recebem.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static User user(String email) {
+        User user = new User(email, "senha-codificada", User.Role.USER);
+        user.setActive(true);
+        return user;
+    }
+
+    public static User user(Long id, String email) {
+        User user = user(email);
+        user.setId(id);
+        return user;
+    }
+
+    public static Course course(String name) {
+        return new Course(name);
+    }
+
+    public static Course course(Long id, String name) {
+        Course course = course(name);
+        course.setId(id);
+        return course;
+    }
+
+    public static Post post(User author, Course course, String title) {
+        return post(author, course, title, LocalDateTime.now());
+    }
+
+    public static Post post(User author, Course course, String title, LocalDateTime createdAt) {
+        Post post = new Post();
+        post.setTitle(title);
+        post.setContent("Conteúdo de " + title);
+        post.setUser(author);
+        post.setCourse(course);
+        post.setCreatedAt(createdAt);
+        post.setUpdatedAt(createdAt);
+        return post;
+    }
+}
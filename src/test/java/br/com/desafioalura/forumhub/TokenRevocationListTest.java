@@ -0,0 +1,102 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import br.com.desafioalura.forumhub.config.security.TokenRevocationList;
+import br.com.desafioalura.forumhub.config.security.VerifiedToken;
+import br.com.desafioalura.forumhub.model.RevokedToken;
+import br.com.desafioalura.forumhub.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+
+class TokenRevocationListTest {
+
+    private RevokedTokenRepository repository;
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+        revocationList = new TokenRevocationList(repository, 1000, 0.01, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Reconstrução deve carregar da tabela os tokens revogados ainda válidos")
+    void rebuild_loadsActiveRevocations() {
+        Instant later = Instant.now().plusSeconds(600);
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of(
+                new RevokedToken("jti-1", later, Instant.now()),
+                new RevokedToken("jti-2", later, Instant.now())));
+
+        revocationList.rebuild();
+
+        assertThat(revocationList.isRevoked("jti-1")).isTrue();
+        assertThat(revocationList.isRevoked("jti-2")).isTrue();
+        assertThat(revocationList.isRevoked("jti-3")).isFalse();
+        assertThat(revocationList.isRevoked(null)).isFalse();
+        verify(repository).deleteExpired(any());
+    }
+
+    @Test
+    @DisplayName("Revogação deve ser gravada e valer em memória na hora, fora de transação")
+    void revoke_persistsAndAppliesImmediately() {
+        when(repository.insertIgnore(eq("jti-1"), any(), any())).thenReturn(1);
+
+        assertThat(revocationList.revoke(refreshToken("jti-1"))).isTrue();
+
+        assertThat(revocationList.isRevoked("jti-1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Token já revogado no banco não deve ser reivindicado de novo")
+    void revoke_returnsFalseWhenAlreadyRevoked() {
+        when(repository.insertIgnore(eq("jti-1"), any(), any())).thenReturn(0);
+
+        assertThat(revocationList.revoke(refreshToken("jti-1"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Em transação, a memória só deve mudar depois do commit")
+    void revoke_appliesInMemoryAfterCommit() {
+        when(repository.insertIgnore(eq("jti-1"), any(), any())).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(revocationList.revoke(refreshToken("jti-1"))).isTrue();
+            assertThat(revocationList.isRevoked("jti-1")).isFalse();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(revocationList.isRevoked("jti-1")).isTrue();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Token já expirado não precisa ser revogado")
+    void revoke_ignoresExpiredToken() {
+        VerifiedToken expired = new VerifiedToken("jti-1", "access", "autor@example.com", 1L, "USER",
+                Instant.now().minusSeconds(1));
+
+        assertThat(revocationList.revoke(expired)).isFalse();
+
+        assertThat(revocationList.isRevoked("jti-1")).isFalse();
+        verify(repository, never()).insertIgnore(any(), any(), any());
+    }
+
+    private static VerifiedToken refreshToken(String jti) {
+        return new VerifiedToken(jti, "refresh", "autor@example.com", 1L, "USER", Instant.now().plusSeconds(600));
+    }
+}
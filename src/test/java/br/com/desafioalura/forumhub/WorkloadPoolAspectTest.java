@@ -0,0 +1,58 @@
+package br.com.desafioalura.forumhub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import br.com.desafioalura.forumhub.config.datasource.Workload;
+import br.com.desafioalura.forumhub.config.datasource.WorkloadContext;
+import br.com.desafioalura.forumhub.config.datasource.WorkloadPool;
+import br.com.desafioalura.forumhub.config.datasource.WorkloadPoolAspect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+class WorkloadPoolAspectTest {
+
+    private Reports reports;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Reports());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new WorkloadPoolAspect());
+        reports = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("A anotação do método deve prevalecer sobre a da classe e ser removida ao final")
+    void methodAnnotationOverridesClass() {
+        assertThat(reports.interactive()).isEqualTo(Workload.READ);
+        assertThat(reports.export()).isEqualTo(Workload.HEAVY);
+        assertThat(WorkloadContext.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("A carga deve ser limpa mesmo quando o método falha")
+    void clearsWorkloadOnFailure() {
+        assertThatThrownBy(reports::failing).isInstanceOf(IllegalStateException.class);
+        assertThat(WorkloadContext.current()).isNull();
+    }
+
+    @WorkloadPool(Workload.READ)
+    static class Reports {
+
+        public Workload interactive() {
+            return WorkloadContext.current();
+        }
+
+        @WorkloadPool(Workload.HEAVY)
+        public Workload export() {
+            return WorkloadContext.current();
+        }
+
+        public Workload failing() {
+            throw new IllegalStateException("falha");
+        }
+    }
+}
@@ -12,6 +12,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import br.com.desafioalura.forumhub.controller.AuthController;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import br.com.desafioalura.forumhub.config.security.JwtTokenUtil;
+import br.com.desafioalura.forumhub.config.security.TokenRevocationList;
 import br.com.desafioalura.forumhub.dto.AuthRegisterDTO;
 import br.com.desafioalura.forumhub.dto.AuthResponseDTO;
 import br.com.desafioalura.forumhub.dto.UserRegisterDTO;
@@ -48,6 +49,9 @@ class AuthControllerTest {
     @MockitoBean // Cria um mock para a dependência JwtTokenUtil (mesmo que não esteja diretamente usada nos métodos testados)
     private JwtTokenUtil jwtTokenUtil;
 
+    @MockitoBean // Dependência do JwtAuthenticationFilter
+    private TokenRevocationList tokenRevocationList;
+
     @MockitoBean // Cria um mock para a dependência ModelMapper
     private ModelMapper modelMapper;
 